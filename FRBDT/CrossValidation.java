@@ -0,0 +1,333 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+
+package keel.Algorithms.Decision_Trees.FRBDT;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+import keel.Algorithms.Decision_Trees.FRBDT.core.*;
+
+/**
+ * <p>Title: Cross-validation</p>
+ *
+ * <p>Description: Repeated stratified k-fold cross-validation of FRBDT.
+ * Each repetition assigns the rows to folds with its own seed, and each
+ * fold is trained by its own classifier, with the parameters of a
+ * template, on the threads of a pool. The folds are views on one set of
+ * instances: the test rows are scored where they are, and the training
+ * rows are gathered straight into the columns that the training consumes.
+ * A test row that no rule covers is counted as predicted in the first
+ * class, in the confusion matrix and in the accuracy.</p>
+ */
+public class CrossValidation {
+
+  /** The classifier whose parameters are used to train every fold */
+  private FRBDT m_Template;
+
+  /** The number of folds */
+  private int m_NumFolds;
+
+  /** The number of repetitions of the cross-validation */
+  private int m_NumRepeats;
+
+  /** The seed of the first repetition; the next ones use the following seeds */
+  private long m_Seed;
+
+  /** The number of folds trained at once */
+  private int m_NumThreads;
+
+  /** The class attribute of the data */
+  private AttributeWeka m_Class;
+
+  /** The confusion matrix of all the folds, indexed by real and predicted class */
+  private long[][] m_Confusion;
+
+  /** The accuracy of each fold of each repetition */
+  private double[] m_Accuracy;
+
+  /** The training time of each fold of each repetition, in milliseconds */
+  private double[] m_TrainMillis;
+
+  /** The test time of each fold of each repetition, in milliseconds */
+  private double[] m_TestMillis;
+
+  /**
+   * Constructor.
+   *
+   * @param template the classifier whose parameters are used for the folds
+   * @param numFolds the number of folds
+   * @param numRepeats the number of repetitions
+   * @param seed the seed of the first repetition
+   * @param numThreads the number of folds trained at once; when it is more
+   * than one, each fold is trained on one thread
+   */
+  public CrossValidation(FRBDT template, int numFolds, int numRepeats, long seed,
+                         int numThreads) {
+    m_Template = template;
+    m_NumFolds = numFolds;
+    m_NumRepeats = Math.max(numRepeats, 1);
+    m_Seed = seed;
+    m_NumThreads = Math.max(numThreads, 1);
+  }
+
+  /**
+   * Runs the cross-validation.
+   *
+   * @param data the instances, which are not modified
+   * @throws Exception if a fold cannot be trained
+   */
+  public void run(final ColumnarInstances data) throws Exception {
+
+    int numRuns = m_NumRepeats * m_NumFolds;
+    m_Class = data.classAttribute();
+    m_Confusion = new long[data.numClasses()][data.numClasses()];
+    m_Accuracy = new double[numRuns];
+    m_TrainMillis = new double[numRuns];
+    m_TestMillis = new double[numRuns];
+
+    ArrayList<Callable<FoldResult>> tasks = new ArrayList<Callable<FoldResult>>();
+    for (int r = 0; r < m_NumRepeats; r++) {
+      final Folds folds = new Folds(data, m_NumFolds, new Random(m_Seed + r));
+      for (int k = 0; k < m_NumFolds; k++) {
+        final int fold = k;
+        tasks.add(new Callable<FoldResult>() {
+          public FoldResult call() throws Exception {
+            return runFold(data, folds, fold);
+          }
+        });
+      }
+    }
+
+    List<FoldResult> results = FRBDT.invokeAll(m_NumThreads, tasks);
+    for (int i = 0; i < numRuns; i++) {
+      FoldResult result = results.get(i);
+      long[][] confusion = result.confusion;
+      for (int c = 0; c < confusion.length; c++)
+        for (int p = 0; p < confusion.length; p++)
+          m_Confusion[c][p] += confusion[c][p];
+      m_Accuracy[i] = result.accuracy;
+      m_TrainMillis[i] = result.trainMillis;
+      m_TestMillis[i] = result.testMillis;
+    }
+  }
+
+  /**
+   * Trains and tests one fold.
+   *
+   * @param data the instances
+   * @param folds the folds of the repetition
+   * @param fold the fold
+   * @return the result of the fold
+   * @throws Exception if the fold cannot be trained
+   */
+  private FoldResult runFold(ColumnarInstances data, Folds folds, int fold)
+  throws Exception {
+
+    FRBDT classifier = m_Template.copyParameters();
+    if (m_NumThreads > 1)
+      classifier.setNumThreads(1);
+    FoldResult result = new FoldResult();
+
+    long start = System.nanoTime();
+    int[] trainRows = folds.trainRows(fold);
+    classifier.buildClassifier(data, trainRows, trainRows.length);
+    result.trainMillis = (System.nanoTime() - start) / 1e6;
+
+    start = System.nanoTime();
+    int[] rows = folds.rows();
+    int from = folds.testStart(fold), to = folds.testEnd(fold);
+    int[] predictions = classifier.classifyRows(data, rows, from, to);
+    result.testMillis = (System.nanoTime() - start) / 1e6;
+
+    result.confusion = new long[data.numClasses()][data.numClasses()];
+    long hits = 0;
+    for (int i = 0; i < predictions.length; i++) {
+      int real = data.classValue(rows[from + i]);
+      int predicted = Math.max(predictions[i], 0);
+      result.confusion[real][predicted]++;
+      if (real == predicted)
+        hits++;
+    }
+    result.accuracy = predictions.length == 0 ? 0 : 1.0 * hits / predictions.length;
+    return result;
+  }
+
+  /**
+   * Returns the mean accuracy of the folds
+   *
+   * @return the mean accuracy
+   */
+  public double accuracy() {
+
+    return Utils.mean(m_Accuracy);
+  }
+
+  /**
+   * Returns the standard deviation of the accuracy of the folds
+   *
+   * @return the standard deviation
+   */
+  public double accuracyStdDev() {
+
+    return m_Accuracy.length > 1 ? Math.sqrt(Utils.variance(m_Accuracy)) : 0;
+  }
+
+  /**
+   * Returns the precision of a class over all the folds
+   *
+   * @param c the class
+   * @return the precision, 0 if the class is never predicted
+   */
+  public double precision(int c) {
+
+    long predicted = 0;
+    for (int r = 0; r < m_Confusion.length; r++)
+      predicted += m_Confusion[r][c];
+    return predicted == 0 ? 0 : 1.0 * m_Confusion[c][c] / predicted;
+  }
+
+  /**
+   * Returns the recall of a class over all the folds
+   *
+   * @param c the class
+   * @return the recall, 0 if the class never occurs
+   */
+  public double recall(int c) {
+
+    long real = 0;
+    for (int p = 0; p < m_Confusion.length; p++)
+      real += m_Confusion[c][p];
+    return real == 0 ? 0 : 1.0 * m_Confusion[c][c] / real;
+  }
+
+  /**
+   * Returns the F-measure of a class over all the folds
+   *
+   * @param c the class
+   * @return the F-measure, 0 if both precision and recall are 0
+   */
+  public double fMeasure(int c) {
+
+    double precision = precision(c), recall = recall(c);
+    return precision + recall == 0 ? 0 : 2 * precision * recall / (precision + recall);
+  }
+
+  /**
+   * Returns the confusion matrix of all the folds
+   *
+   * @return the matrix, indexed by real and predicted class
+   */
+  public long[][] confusionMatrix() {
+
+    return m_Confusion;
+  }
+
+  /**
+   * Returns the mean training time of a fold
+   *
+   * @return the time in milliseconds
+   */
+  public double trainMillis() {
+
+    return Utils.mean(m_TrainMillis);
+  }
+
+  /**
+   * Returns the mean test time of a fold
+   *
+   * @return the time in milliseconds
+   */
+  public double testMillis() {
+
+    return Utils.mean(m_TestMillis);
+  }
+
+  /**
+   * Returns a report of the cross-validation
+   *
+   * @return the report
+   */
+  public String toString() {
+
+    if (m_Confusion == null)
+      return "Cross-validation not run yet.";
+    StringBuffer text = new StringBuffer();
+    text.append("Stratified ").append(m_NumFolds).append("-fold cross-validation, ")
+      .append(m_NumRepeats).append(" repetition(s)\n\n");
+    text.append("Accuracy: ").append(Utils.doubleToString(accuracy(), 4))
+      .append(" +- ").append(Utils.doubleToString(accuracyStdDev(), 4)).append('\n');
+    text.append("Mean training time per fold (ms): ")
+      .append(Utils.doubleToString(trainMillis(), 2)).append('\n');
+    text.append("Mean test time per fold (ms): ")
+      .append(Utils.doubleToString(testMillis(), 2)).append("\n\n");
+
+    int width = 5;
+    for (int c = 0; c < m_Confusion.length; c++)
+      width = Math.max(width, m_Class.value(c).length());
+    text.append(Utils.padRight("Class", width))
+      .append("  Precision     Recall  F-Measure\n");
+    for (int c = 0; c < m_Confusion.length; c++) {
+      text.append(Utils.padRight(m_Class.value(c), width))
+        .append(Utils.doubleToString(precision(c), 11, 4))
+        .append(Utils.doubleToString(recall(c), 11, 4))
+        .append(Utils.doubleToString(fMeasure(c), 11, 4)).append('\n');
+    }
+
+    text.append("\nConfusion matrix (rows: real class, columns: predicted class)\n");
+    for (int c = 0; c < m_Confusion.length; c++) {
+      text.append(Utils.padRight(m_Class.value(c), width));
+      for (int p = 0; p < m_Confusion.length; p++)
+        text.append(Utils.padLeft(Long.toString(m_Confusion[c][p]), 9));
+      text.append('\n');
+    }
+    return text.toString();
+  }
+
+  /**
+   * The outcome of one fold
+   */
+  private static class FoldResult {
+
+    /** The confusion matrix of the test rows of the fold */
+    long[][] confusion;
+
+    /** The accuracy on the test rows of the fold */
+    double accuracy;
+
+    /** The training time, in milliseconds */
+    double trainMillis;
+
+    /** The test time, in milliseconds */
+    double testMillis;
+  }
+}
@@ -2,6 +2,15 @@ package keel.Algorithms.Decision_Trees.FRBDT;
 
 import keel.Algorithms.Decision_Trees.FRBDT.core.*;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
 import keel.Dataset.Attribute;
 import keel.Dataset.Attributes;
 import keel.Dataset.InstanceSet;
@@ -16,7 +25,7 @@ import keel.Dataset.InstanceSet;
 	protected AttributeWeka m_Class; 
 
 	/** The ruleset */
-	public FastVector m_Ruleset;
+	public LayerList m_Ruleset;
 
 	/** Runs of optimizations */
 	private int m_Optimizations;
@@ -27,9 +36,6 @@ import keel.Dataset.InstanceSet;
 	/** Whether in a debug mode */
 	protected boolean m_Debug = false;
 
-	/** The class distribution of the training data*/
-	double[] aprioriDistribution;
-
     boolean m_useRuleStretching=false;
 
     public double m_alpha=0.02;
@@ -38,6 +44,54 @@ import keel.Dataset.InstanceSet;
   
     public double m_shreshold=0.6; 
 
+    /** The ruleset flattened for inference */
+    protected CompiledRuleset m_Compiled;
+
+    /** Number of threads used to grow the rules of a layer (1 = sequential) */
+    public int m_numThreads=1;
+
+    /** Whether the candidate attributes of each grow step are also scored in parallel */
+    public boolean m_parallelAttributes=false;
+
+    /** Whether the scan of a candidate antecedent stops once it cannot beat the best one */
+    public boolean m_earlyExit=true;
+
+    /** Whether the rows are sorted by each attribute once, so that an antecedent is only evaluated inside its support */
+    public boolean m_sortedIndex=false;
+
+    /** Whether the data files are parsed directly into columns instead of through KEEL's InstanceSet */
+    public boolean m_streamingLoad=false;
+
+    /** Whether the data keep only the non-zero values of each attribute, for high-dimensional sparse features */
+    public boolean m_sparseData=false;
+
+    /** Whether the parsed data files are kept in a binary cache reused by later runs (implies streaming) */
+    public boolean m_cacheData=false;
+
+    /** The directory of the binary caches, null to keep them next to the data files */
+    public String m_cacheDirectory=null;
+
+    /** The attributes of the training data */
+    protected Instances m_Header;
+
+    /** The header lines of the training file, echoed in the outputs in streaming mode */
+    protected String m_HeaderText;
+
+    /** The pool that grows the rules when m_numThreads > 1 */
+    private transient ForkJoinPool m_Pool;
+
+    /** The receiver of the measurements of training and inference, null for none */
+    protected transient MetricsSink m_Metrics;
+
+    /** The latency of distributionForInstance, in nanoseconds, while measuring */
+    protected transient LatencyHistogram m_InferenceLatency = new LatencyHistogram();
+
+    /** The sorted index of the rows left for the current layer, when m_sortedIndex */
+    private transient SortedIndex m_Index;
+
+    /** The data the current training was prepared from, null if it was not */
+    private transient PreparedData m_Prepared;
+
     /**
 	 * Constructor.
 	 *
@@ -45,6 +99,22 @@ import keel.Dataset.InstanceSet;
 	 */
 	private String trainFile, evalFile, testFile;
 	private String outputTrainFile, outputTestFile, outputClassifierFile;
+	/** The binary model written after training, null for none */
+	private String modelFile;
+	/** The file the measurements are appended to as JSON lines, null for none */
+	private String metricsFile;
+	/** The number of folds of the cross-validation run before training, 0 for none */
+	private int numFolds;
+	/** The number of repetitions of the cross-validation */
+	private int numRepeats;
+	/** The parameter search run before training: none, grid or random */
+	private String tuning;
+	/** The values of the parameters searched, as comma separated lists */
+	private String tuneMaxAttUsed, tuneThreshold, tuneAlpha;
+	/** The number of trials of the random search */
+	private int tuneTrials;
+	/** The seed of the cross-validation and the random search */
+	private long seed;
 	/** filter: Normalize training data */
 	public static final int FILTER_NORMALIZE = 0;
 	/** filter: Standardize training data */
@@ -52,11 +122,26 @@ import keel.Dataset.InstanceSet;
 	/** filter: No normalization/standardization */
 	public static final int FILTER_NONE = 2;
 
+    /**
+     * Constructor with the default parameters, set afterwards through the
+     * public fields and setters.
+     */
+    public FRBDT() {
+    }
+
     public FRBDT(parseParameters parameters) {
 
 		m_maxAttUsed = Integer.parseInt(parameters.getParameter(1));//2
 		m_shreshold = Double.parseDouble(parameters.getParameter(2));//2
 		m_alpha=Double.parseDouble(parameters.getParameter(3));//2
+		m_numThreads=Integer.parseInt(parameters.getParameter("Threads", "1"));
+		m_parallelAttributes=Boolean.valueOf(parameters.getParameter("ParallelAttributes", "false")).booleanValue();
+		m_earlyExit=Boolean.valueOf(parameters.getParameter("EarlyExit", "true")).booleanValue();
+		m_sortedIndex=Boolean.valueOf(parameters.getParameter("SortedIndex", "false")).booleanValue();
+		m_streamingLoad=Boolean.valueOf(parameters.getParameter("StreamingLoad", "false")).booleanValue();
+		m_sparseData=Boolean.valueOf(parameters.getParameter("SparseData", "false")).booleanValue();
+		setCacheData(Boolean.valueOf(parameters.getParameter("CacheData", "false")).booleanValue());
+		m_cacheDirectory=parameters.getParameter("CacheDirectory", null);
 
 
 		trainFile = parameters.getTrainingInputFile();
@@ -65,6 +150,17 @@ import keel.Dataset.InstanceSet;
 		outputTrainFile = parameters.getTrainingOutputFile();
 		outputTestFile = parameters.getTestOutputFile();
 		outputClassifierFile = parameters.getOutputFile(0);
+		modelFile = parameters.getParameter("ModelFile", null);
+		metricsFile = parameters.getParameter("MetricsFile", null);
+		numFolds = Integer.parseInt(parameters.getParameter("Folds", "0"));
+		numRepeats = Integer.parseInt(parameters.getParameter("Repeats", "1"));
+		tuning = parameters.getParameter("Tune", "none");
+		tuneMaxAttUsed = parameters.getParameter("TuneMaxAttUsed", Integer.toString(m_maxAttUsed));
+		tuneThreshold = parameters.getParameter("TuneThreshold", Double.toString(m_shreshold));
+		tuneAlpha = parameters.getParameter("TuneAlpha", Double.toString(m_alpha));
+		tuneTrials = Integer.parseInt(parameters.getParameter("TuneTrials", "10"));
+		if (numFolds > 1 || tuning.equals("random"))
+			seed = Long.parseLong(parameters.getParameter(0));
 
 	}
 
@@ -153,24 +249,39 @@ import keel.Dataset.InstanceSet;
 	 * It launches the FRBDT algorithm
 	 */
 	public void execute() {
-		Instances isWeka;
-		Instance instWeka;
 		InstanceSet IS = new InstanceSet();
 		InstanceSet ISval = new InstanceSet();
 		InstanceSet IStest = new InstanceSet();
+		CrossValidation crossValidation = null;
+		Tuning search = null;
 
 		try {
+			if (metricsFile != null)
+				m_Metrics = new JsonLinesMetricsSink(metricsFile);
+			ColumnarInstances train = loadData(trainFile, IS, true);
+			ColumnarInstances val = null;
+			PreparedData prepared = null;
+			if (!tuning.equals("none")){
+				val = loadData(evalFile, ISval, false);
+				prepared = new PreparedData(train);
+				search = tune(prepared, val);
+			}
+			if (numFolds > 1)
+				crossValidation = crossValidate(train);
 			//*********build the FR3 classifier********/
-			IS.readSet(trainFile, true);
-			isWeka = InstancesKEEL2Weka(IS, FILTER_NONE);
-			buildClassifier(isWeka);
+			if (prepared != null)
+				buildClassifier(prepared);
+			else
+				buildClassifier(train);
+			if (modelFile != null)
+				writeModel(modelFile);
 			double featureSum=0.0;
 			int ruleNum=0;
 			for(int i =0;i<m_Ruleset.size();i++){
-				FastVector rules =(FastVector)m_Ruleset.elementAt(i);
+				RuleList rules =m_Ruleset.get(i);
 				ruleNum+=rules.size();
 				for (int j=0;j<rules.size();j++){
-					RipperRule rule=(RipperRule)rules.elementAt(j);
+					RipperRule rule=rules.get(j);
 					featureSum+=rule.size();
 				}
 			}
@@ -179,93 +290,356 @@ import keel.Dataset.InstanceSet;
 
 			//********validate the obtained FR3*******//
 
-			ISval.readSet(evalFile, false);
-			isWeka = InstancesKEEL2Weka(ISval, FILTER_NONE);
 			// obtain the predicted class for each train instance
+			if (val == null)
+				val = loadData(evalFile, ISval, false);
+			double accTrain = evaluate(val, ISval, outputTrainFile);
+			val = null;
 
-			Attribute a = Attributes.getOutputAttribute(0);
-			String outputVal = new String("");
-			int hits = 0;
-			for (int i = 0; i < isWeka.numInstances(); i++) {
-				keel.Dataset.Instance inst = ISval.getInstance(i);
-				instWeka = isWeka.instance(i);
-				instWeka.setDataset(isWeka);
-				int outputClass = (int)this.classifyInstance(instWeka);
-				String realClass = inst.getOutputNominalValues(0);
-				String predictedClass = a.getNominalValue(outputClass);
-				if (realClass.compareTo(predictedClass) == 0) {
-					hits++;
-				}
-				outputVal += realClass + " " + predictedClass+"\n";
-			}
-			double accTrain = 1.0 * hits / isWeka.numInstances();
-
-			IStest.readSet(testFile, false);
-			isWeka = InstancesKEEL2Weka(IStest, FILTER_NONE);
-			String outputTest = new String("");
-			hits = 0;
-			for (int i = 0; i < isWeka.numInstances(); i++) {
-				keel.Dataset.Instance inst = IStest.getInstance(i);
-				instWeka = isWeka.instance(i);
-				instWeka.setDataset(isWeka);
-				int outputClass = (int)this.classifyInstance(instWeka);
-				String realClass = inst.getOutputNominalValues(0);
-				String predictedClass = a.getNominalValue(outputClass);
-				if (realClass.compareTo(predictedClass) == 0) {
-					hits++;
-				}
-				outputTest += realClass + " " + predictedClass+"\n";
-			}
-			double accTest = 1.0 * hits / isWeka.numInstances();
-			writeOutput(outputVal,outputTest,accTrain,accTest);
+			double accTest = evaluate(loadData(testFile, IStest, false), IStest, outputTestFile);
+			writeOutput(accTrain,accTest);
 
 		} catch (Exception ex) {
 			System.err.println("Fatal Error building the FRBDT model!");
 			ex.printStackTrace();
+		} finally {
+			if (m_Metrics != null){
+				recordInferenceLatency();
+				m_Metrics.close();
+				m_Metrics = null;
+			}
 		}
 		;
 
-		Files.writeFile(outputClassifierFile, toString() + "\n\n\n\n" + "REGLAS = " + m_Ruleset.size());
+		String output = toString() + "\n\n\n\n" + "REGLAS = " + m_Ruleset.size();
+		if (search != null)
+			output += "\n\n" + search;
+		if (crossValidation != null)
+			output += "\n\n" + crossValidation;
+		Files.writeFile(outputClassifierFile, output);
+	}
+
+	/**
+	 * Searches the maximum number of attributes per rule, the threshold and
+	 * alpha on the validation data, sets the best values in this classifier
+	 * and prints the report of the search.
+	 *
+	 * @param train the prepared training data
+	 * @param val the validation data
+	 * @return the search
+	 * @throws Exception if a trial cannot be trained
+	 */
+	private Tuning tune(PreparedData train, ColumnarInstances val) throws Exception {
+		long start = System.nanoTime();
+		Tuning search = new Tuning(this, Tuning.parseInts(tuneMaxAttUsed),
+				Tuning.parseDoubles(tuneThreshold), Tuning.parseDoubles(tuneAlpha), m_numThreads);
+		if (tuning.equals("random"))
+			search.sample(tuneTrials, new Random(seed));
+		else if (!tuning.equals("grid"))
+			throw new IllegalArgumentException("Unknown parameter search: " + tuning);
+		search.run(train, val);
+		if (m_Metrics != null){
+			for (int t = 0; t < search.numTrials(); t++)
+				m_Metrics.record("trial", "max_att_used", search.maxAttUsed(t),
+						"threshold", search.threshold(t), "alpha", search.alpha(t),
+						"accuracy", search.accuracy(t), "rules", search.numRules(t),
+						"ms", search.trainMillis(t));
+			m_Metrics.record("tuning", "trials", search.numTrials(), "best", search.best(),
+					"ms", millis(start));
+		}
+		search.apply(this);
+		System.out.println(search);
+		return search;
+	}
+
+	/**
+	 * Runs the cross-validation of the training data with the parameters of
+	 * this classifier, prints its report and records it in the metrics.
+	 *
+	 * @param data the training data
+	 * @return the cross-validation
+	 * @throws Exception if a fold cannot be trained
+	 */
+	private CrossValidation crossValidate(ColumnarInstances data) throws Exception {
+		long start = System.nanoTime();
+		CrossValidation cv = new CrossValidation(this, numFolds, numRepeats, seed, m_numThreads);
+		cv.run(data);
+		System.out.println(cv);
+		if (m_Metrics != null)
+			m_Metrics.record("cv", "folds", numFolds, "repeats", numRepeats,
+					"accuracy", cv.accuracy(), "accuracy_sd", cv.accuracyStdDev(),
+					"train_ms", cv.trainMillis(), "test_ms", cv.testMillis(), "ms", millis(start));
+		return cv;
+	}
+
+	/**
+	 * Loads a KEEL data file, either through KEEL's InstanceSet or, in
+	 * streaming mode, parsing it directly into the columnar representation.
+	 * When the data are cached, the binary cache of the file is read instead
+	 * if it is up to date, and written after parsing otherwise.
+	 *
+	 * @param fileName the name of the file
+	 * @param is the KEEL set that receives the data if not streaming
+	 * @param train whether it is the training file, which defines the attributes
+	 * @return the data
+	 * @throws Exception if the file cannot be read
+	 */
+	protected ColumnarInstances loadData(String fileName, InstanceSet is, boolean train)
+	throws Exception {
+		long start = System.nanoTime();
+		ColumnarInstances data = readData(fileName, is, train);
+		if (m_Metrics != null)
+			m_Metrics.record("load", "file", fileName, "train", train, "streaming", m_streamingLoad,
+					"sparse", data.isSparse(), "rows", data.numInstances(), "ms", millis(start));
+		return data;
+	}
+
+	/**
+	 * Reads a data file for loadData.
+	 *
+	 * @param fileName the name of the file
+	 * @param is the KEEL set that receives the data if not streaming
+	 * @param train whether it is the training file
+	 * @return the data
+	 * @throws Exception if the file cannot be read
+	 */
+	private ColumnarInstances readData(String fileName, InstanceSet is, boolean train)
+	throws Exception {
+		if (m_streamingLoad){
+			DatasetCache cache = null;
+			if (m_cacheData){
+				cache = new DatasetCache(fileName, m_cacheDirectory);
+				ColumnarInstances data = cache.read(train ? null : m_Header, m_sparseData);
+				if (data != null){
+					if (train){
+						m_Header = data.header();
+						m_HeaderText = cache.headerText();
+					}
+					return data;
+				}
+			}
+			KeelDataReader reader = new KeelDataReader(fileName, train ? null : m_Header);
+			ColumnarInstances data;
+			try {
+				if (train){
+					m_Header = reader.header();
+					m_HeaderText = reader.headerText();
+				}
+				data = reader.readAll(m_sparseData);
+			} finally {
+				reader.close();
+			}
+			if (cache != null){
+				try {
+					cache.write(data, reader.headerText());
+				} catch (IOException e){
+					System.err.println("Cannot write the cache of " + fileName + ": " + e.getMessage());
+				}
+			}
+			return data;
+		}
+		is.readSet(fileName, train);
+		long start = System.nanoTime();
+		Instances instances = InstancesKEEL2Weka(is, FILTER_NONE);
+		if (m_Metrics != null)
+			m_Metrics.record("convert", "file", fileName, "rows", instances.numInstances(),
+					"ms", millis(start));
+		return columnar(instances);
+	}
+
+	/**
+	 * Copies a set of instances into the columnar representation, sparse
+	 * if m_sparseData is set.
+	 *
+	 * @param instances the instances
+	 * @return the columnar set
+	 */
+	private ColumnarInstances columnar(Instances instances){
+		return m_sparseData ? new SparseColumnarInstances(instances)
+				: new ColumnarInstances(instances);
+	}
+
+	/**
+	 * Returns the milliseconds elapsed since a time taken with System.nanoTime()
+	 *
+	 * @param start the time
+	 * @return the milliseconds elapsed
+	 */
+	private static double millis(long start){
+		return (System.nanoTime() - start) / 1e6;
+	}
+
+	/**
+	 * Records the latency of the instances classified one by one since the
+	 * last call, if any.
+	 */
+	public void recordInferenceLatency(){
+		if (m_Metrics == null || m_InferenceLatency.count() == 0)
+			return;
+		m_Metrics.record("inference", "instances", m_InferenceLatency.count(),
+				"mean_us", m_InferenceLatency.mean() / 1000,
+				"p50_us", m_InferenceLatency.percentile(50) / 1000.0,
+				"p99_us", m_InferenceLatency.percentile(99) / 1000.0,
+				"max_us", m_InferenceLatency.max() / 1000.0);
+		m_InferenceLatency.reset();
+	}
+
+	/**
+	 * Classifies a validation or test set and writes the output file: the
+	 * header of the data, then a "real predicted" line for each instance,
+	 * streamed to the file as it is produced.
+	 *
+	 * @param data the instances
+	 * @param is the same instances in KEEL format, used for the real class
+	 * labels; ignored in streaming mode
+	 * @param outputFile the name of the output file
+	 * @return the accuracy rate
+	 * @throws IOException if the output file cannot be written
+	 */
+	private double evaluate(ColumnarInstances data, InstanceSet is, String outputFile)
+	throws IOException {
+		int hits = 0;
+		int[] predictions = classifyBatch(data);
+		PredictionWriter output = new PredictionWriter(outputFile, outputHeader(), m_Class);
+		try {
+			for (int i = 0; i < data.numInstances(); i++) {
+				// unclassified instances go to the first class
+				int outputClass = Math.max(predictions[i], 0);
+				String realClass;
+				if (m_streamingLoad)
+					realClass = data.classValue(i) < 0 ? "?" : m_Class.value(data.classValue(i));
+				else
+					realClass = is.getInstance(i).getOutputNominalValues(0);
+				String predictedClass = m_Class.value(outputClass);
+				if (realClass.compareTo(predictedClass) == 0) {
+					hits++;
+				}
+				output.write(realClass, predictedClass);
+			}
+		} finally {
+			output.close();
+		}
+		return 1.0 * hits / data.numInstances();
 	}
 
     @Override
     public void buildClassifier(Instances instances) throws Exception {
         /** for serialization */
-        instances = new Instances(instances);
-		instances.deleteWithMissingClass();
-
-		aprioriDistribution = new double[instances.classAttribute().numValues()];// the instances number of each class
-		boolean allWeightsAreOne = true;
-		for (int i = 0 ; i < instances.numInstances(); i++){
-			aprioriDistribution[(int)instances.instance(i).classValue()]+=instances.instance(i).weight();
-			if (allWeightsAreOne && instances.instance(i).weight() != 1.0){
-				allWeightsAreOne = false;
-				break;
-			}
-		}
-        Instances data = new Instances(instances);
+        ColumnarInstances data = columnar(instances);
+        data.deleteWithMissingClass();
+        train(data);
+    }
+
+    /**
+     * Generates the classifier from a columnar set of instances, the
+     * representation used by the whole training path.
+     *
+     * @param instances the training data, which is not modified
+     * @throws Exception if the classifier cannot be built
+     */
+    public void buildClassifier(ColumnarInstances instances) throws Exception {
+        ColumnarInstances data = instances.copy();
+        data.deleteWithMissingClass();
+        train(data);
+    }
 
-		if(data == null)
-			throw new Exception(" Unable to randomize the class orders.");
+    /**
+     * Generates the classifier from some rows of a columnar set of
+     * instances, gathered straight into the data consumed by the training.
+     *
+     * @param instances the instances, which are not modified
+     * @param rows the positions of the training rows
+     * @param numRows the number of positions of rows to be used
+     * @throws Exception if the classifier cannot be built
+     */
+    public void buildClassifier(ColumnarInstances instances, int[] rows, int numRows)
+	throws Exception {
+        ColumnarInstances data = instances.copy(rows, numRows);
+        data.deleteWithMissingClass();
+        train(data);
+    }
+
+    /**
+     * Generates the classifier from prepared data, reusing the statistics
+     * and the sorted index of its first layer.
+     *
+     * @param prepared the prepared training data, which is not modified
+     * @throws Exception if the classifier cannot be built
+     */
+    public void buildClassifier(PreparedData prepared) throws Exception {
+        m_Prepared = prepared;
+        try {
+            train(prepared.data().copy());
+        } finally {
+            m_Prepared = null;
+        }
+    }
+
+    /**
+     * Returns a new classifier, not trained, with the learning parameters
+     * of this one.
+     *
+     * @return the classifier
+     */
+    public FRBDT copyParameters() {
+        FRBDT copy = new FRBDT();
+        copy.m_maxAttUsed = m_maxAttUsed;
+        copy.m_shreshold = m_shreshold;
+        copy.m_alpha = m_alpha;
+        copy.m_useRuleStretching = m_useRuleStretching;
+        copy.m_numThreads = m_numThreads;
+        copy.m_parallelAttributes = m_parallelAttributes;
+        copy.m_earlyExit = m_earlyExit;
+        copy.m_sortedIndex = m_sortedIndex;
+        copy.m_sparseData = m_sparseData;
+        copy.m_Debug = m_Debug;
+        return copy;
+    }
+
+    /**
+     * Generates the classifier layer by layer. The rows covered by each
+     * layer are removed from the data in place, so the data is never
+     * copied between layers.
+     *
+     * @param data the training data without missing classes, which is
+     * consumed by the training
+     * @throws Exception if the classifier cannot be built
+     */
+    private void train(ColumnarInstances data) throws Exception {
+        long start = System.nanoTime();
+        int numRows = data.numInstances();
 
 		m_Class = data.classAttribute();	
-		m_Ruleset = new FastVector();
-        if(m_Debug){
-			System.err.println("Sorted classes:");
-			for(int x=0; x < m_Class.numValues(); x++)
-				System.err.println(x+": "+m_Class.value(x) + " has " +
-						aprioriDistribution[x] + " instances.");
-		}
-        boolean stop =false;
-        while(!stop){
-            Instances nextLayerData=rulesetForOneLayer(data);
-            stop=checkStop(data, nextLayerData);
-			data=nextLayerData;
+		m_Header = data.header();
+		m_Ruleset = new LayerList();
+        if (m_numThreads > 1)
+            m_Pool = new ForkJoinPool(m_numThreads);
+        /* sparse data is only read through its non-zero values, not sorted */
+        if (m_sortedIndex && !data.isSparse())
+            m_Index = (m_Prepared != null) ? new SortedIndex(m_Prepared.index())
+                                           : new SortedIndex(data);
+        try {
+            boolean stop =false;
+            while(!stop){
+                int numInstances=data.numInstances();
+                int numLeft=rulesetForOneLayer(data);
+                stop=checkStop(numInstances, numLeft);
+            }
+        } finally {
+            if (m_Pool != null){
+                m_Pool.shutdown();
+                m_Pool = null;
+            }
+            m_Index = null;
         }
+        compile();
+        if (m_Metrics != null)
+            m_Metrics.record("train", "rows", numRows, "layers", m_Compiled.numLayers(),
+                    "rules", m_Compiled.numRules(), "ms", millis(start));
     }
 
-    protected boolean checkStop(Instances data, Instances nextLayerData){
-        if(data.numInstances()==nextLayerData.numInstances() || nextLayerData.numInstances()==0){
+    protected boolean checkStop(int numInstances, int numLeft){
+        if(numInstances==numLeft || numLeft==0){
             return true;
         }else{
             return false;
@@ -273,68 +647,197 @@ import keel.Dataset.InstanceSet;
     }
 
 
-    protected Instances rulesetForOneLayer(Instances data)
+    /**
+     * Grows the rules of one layer and removes the rows they cover from the
+     * data, in place; the rows left are the data of the next layer.
+     *
+     * @param data the data of the layer
+     * @return the number of rows left
+     * @throws Exception if the rules cannot be grown
+     */
+    protected int rulesetForOneLayer(final ColumnarInstances data)
 	throws Exception {
 
-        Instances newData = data, growData=new Instances(data);
-        growData.delete();
-		FastVector ruleset = new FastVector();
-
-		aprioriDistribution = new double[newData.classAttribute().numValues()];// the instances number of each class
-		boolean allWeightsAreOne = true;
-		for (int i = 0 ; i < newData.numInstances(); i++){
-			aprioriDistribution[(int)newData.instance(i).classValue()]+=newData.instance(i).weight();
-			if (allWeightsAreOne && newData.instance(i).weight() != 1.0){
-				allWeightsAreOne = false;
-				break;
-			}
+        long start = System.nanoTime();
+        int numRows = data.numInstances();
+        ColumnarInstances newData = data;
+		final RuleList ruleset = new RuleList();
+
+		/* the class counts, weights and rows and the class means of every
+		   attribute, gathered in one pass and shared by the rules of this layer */
+		LayerStatistics stats = (m_Prepared != null && m_Ruleset.size() == 0)
+				? m_Prepared.statistics() : new LayerStatistics(newData);
+        if(m_Debug){
+			System.err.println("Sorted classes:");
+			for(int x=0; x < m_Class.numValues(); x++)
+				System.err.println(x+": "+m_Class.value(x) + " has " +
+						stats.classWeight(x) + " instances.");
 		}
 
         if(m_Debug)
 			System.err.println("\n*** Building stage ***");
         
-        oneClass:
-        for(int y=0; y < data.numClasses(); y++){ // For each class	
-            double classIndex = (double)y;
-            if(m_Debug){
-                int ci = (int)classIndex;
-                System.err.println("\n\nClass "+m_Class.value(ci)+"("+ci+"): "
-                        + aprioriDistribution[y] + "instances\n"+
-                "=====================================\n");
-            }
-
-            if(Utils.eq(aprioriDistribution[y],0.0)) // No data for this class
-                continue oneClass;
-            RipperRule oneRule;
-            oneRule = new RipperRule(this.aprioriDistribution);
-            oneRule.setConsequent(classIndex);  // Must set first
-			oneRule.setAlpha(m_alpha);
-			oneRule.setMaxAttUsed(m_maxAttUsed);
-			oneRule.setShreshlod(m_shreshold);
-            if(m_Debug)
-                System.err.println("\ngrowing a rule ...");
-            oneRule.grow(newData);             // Build the rule
-            if(m_Debug)
-                System.err.println("one rule found:\n"+
-                        oneRule.toString(m_Class));
-            ruleset.addElement(oneRule);
+        RipperRule[] classRules = growRules(newData, stats);
+        for(int y=0; y < classRules.length; y++){ // in class order
+            if (classRules[y] != null)
+                ruleset.add(classRules[y]);
         }
-		m_Ruleset.addElement(ruleset);
-        for (int i=0; i<newData.numInstances();i++){
-            Instance ins=(Instance)newData.instance(i);
-            Boolean inThisLayer=false;
-            for (int j=0;j<ruleset.size();j++){
-                RipperRule rule = (RipperRule)ruleset.elementAt(j);
-                if (rule.covers(ins)){
-                    inThisLayer=true;
-                    break;
+		m_Ruleset.add(ruleset);
+        /* the instances not covered by any rule go to the next layer */
+        final double[] coveredWeight = new double[1];
+        int numLeft = data.retainRows(new ColumnarInstances.RowFilter() {
+            public boolean keep(int row) {
+                boolean kept = true;
+                for (int j=0;j<ruleset.size() && kept;j++){
+                    RipperRule rule = ruleset.get(j);
+                    if (rule.covers(data, row))
+                        kept = false;
                 }
+                if (!kept)
+                    coveredWeight[0] += data.weight(row);
+                if (m_Index != null)
+                    m_Index.mark(row, kept);
+                return kept;
             }
-            if (!inThisLayer){
-                growData.add(ins);
+        });
+        if (m_Index != null)
+            m_Index.retainMarkedRows();
+        if(m_Debug)
+            System.err.println("Layer covers " + (numRows - numLeft) + " instances of weight "
+                    + coveredWeight[0]);
+        if (m_Metrics != null)
+            m_Metrics.record("layer", "layer", m_Ruleset.size() - 1, "rows", numRows,
+                    "rules", ruleset.size(), "rows_left", numLeft,
+                    "covered_weight", coveredWeight[0], "ms", millis(start));
+        return numLeft;
+    }
+
+    /**
+     * Grows one rule for each class of the layer, in parallel on the fork-join
+     * pool if one is running. The classes do not depend on each other, so the
+     * result is the same in both modes.
+     *
+     * @param data the data of the layer
+     * @param stats the statistics of the data of the layer
+     * @return the rule of each class, null for the classes without data
+     * @throws Exception if a rule cannot be grown
+     */
+    protected RipperRule[] growRules(final ColumnarInstances data, final LayerStatistics stats)
+	throws Exception {
+
+        ArrayList<Callable<RipperRule>> tasks = new ArrayList<Callable<RipperRule>>();
+        for(int y=0; y < data.numClasses(); y++){ // For each class
+            final int classIndex = y;
+            tasks.add(new Callable<RipperRule>(){
+                public RipperRule call() throws Exception {
+                    return growRule(data, stats, classIndex);
+                }
+            });
+        }
+        List<RipperRule> classRules = invokeAll(m_Pool, tasks);
+        return classRules.toArray(new RipperRule[classRules.size()]);
+    }
+
+    /**
+     * Runs tasks on a fork-join pool and waits for all of them, or runs them
+     * one after the other on the calling thread if there is no pool. The
+     * exception of a failed task is rethrown as the task threw it.
+     *
+     * @param pool the pool, or null
+     * @param tasks the tasks
+     * @return the result of each task, in the order of the tasks
+     * @throws Exception if a task fails
+     */
+    static <T> List<T> invokeAll(ForkJoinPool pool, List<? extends Callable<T>> tasks)
+	throws Exception {
+
+        List<T> results = new ArrayList<T>(tasks.size());
+        if (pool == null){
+            for(int i=0; i < tasks.size(); i++)
+                results.add(tasks.get(i).call());
+            return results;
+        }
+        List<Future<T>> futures = pool.invokeAll(tasks);
+        for(int i=0; i < futures.size(); i++){
+            try {
+                results.add(futures.get(i).get());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Exception)
+                    throw (Exception)e.getCause();
+                throw e;
             }
         }
-        return growData;
+        return results;
+    }
+
+    /**
+     * Runs tasks as invokeAll(ForkJoinPool, List) does, on a pool of the
+     * given number of threads that is shut down afterwards.
+     *
+     * @param numThreads the number of threads; with one, the tasks run on
+     * the calling thread
+     * @param tasks the tasks
+     * @return the result of each task, in the order of the tasks
+     * @throws Exception if a task fails
+     */
+    static <T> List<T> invokeAll(int numThreads, List<? extends Callable<T>> tasks)
+	throws Exception {
+
+        if (numThreads <= 1)
+            return invokeAll(null, tasks);
+        ForkJoinPool pool = new ForkJoinPool(numThreads);
+        try {
+            return invokeAll(pool, tasks);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Grows the rule of one class of the layer
+     *
+     * @param data the data of the layer
+     * @param stats the statistics of the data of the layer
+     * @param y the class of the rule
+     * @return the rule, or null if there is no data of this class
+     * @throws Exception if the rule cannot be grown
+     */
+    protected RipperRule growRule(ColumnarInstances data, LayerStatistics stats, int y)
+	throws Exception {
+
+        double classIndex = (double)y;
+        if(m_Debug){
+            int ci = (int)classIndex;
+            System.err.println("\n\nClass "+m_Class.value(ci)+"("+ci+"): "
+                    + stats.classWeight(y) + "instances\n"+
+            "=====================================\n");
+        }
+
+        if(Utils.eq(stats.classWeight(y),0.0)) // No data for this class
+            return null;
+        RipperRule oneRule;
+        oneRule = new RipperRule();
+        oneRule.setConsequent(classIndex);  // Must set first
+        oneRule.setAlpha(m_alpha);
+        oneRule.setMaxAttUsed(m_maxAttUsed);
+        oneRule.setShreshlod(m_shreshold);
+        oneRule.setEarlyExit(m_earlyExit);
+        oneRule.setSortedIndex(m_Index);
+        if (m_parallelAttributes)
+            oneRule.setPool(m_Pool);
+        if(m_Debug)
+            System.err.println("\ngrowing a rule ...");
+        long start = System.nanoTime();
+        oneRule.grow(data, stats);         // Build the rule
+        if (m_Metrics != null)
+            m_Metrics.record("rule", "layer", m_Ruleset.size(), "class", y,
+                    "antds", oneRule.m_Antds.size(), "steps", oneRule.getNumSteps(),
+                    "candidates", oneRule.getNumCandidates(),
+                    "pruned", oneRule.getNumPruned(), "ms", millis(start));
+        if(m_Debug)
+            System.err.println("one rule found:\n"+
+                    oneRule.toString(m_Class));
+        return oneRule;
     }
 
     	/**
@@ -349,22 +852,14 @@ import keel.Dataset.InstanceSet;
 	public double[] distributionForInstance(Instance datum) throws Exception{ 
 		//test for multiple overlap of rules
 		double[] rulesCoveringForEachClass = new double[datum.numClasses()];  
-		for(int i=0; i < m_Ruleset.size(); i++){
-			FastVector layerRules = (FastVector)m_Ruleset.elementAt(i);
-            for (int j=0; j<layerRules.size();j++){
-                RipperRule rule = (RipperRule) layerRules.elementAt(j);
-                if (!rule.hasAntds()) 
-				    continue;
-                if(rule.covers(datum)||i==m_Ruleset.size()-1){
-                    rulesCoveringForEachClass[(int)rule.m_Consequent] = rule.computeAverageMembershipDegree(datum);
-                    //System.err.println("Cov: "+rule.getConfidence());
-                }
-			}
-            if (Utils.sum(rulesCoveringForEachClass)!=0){
-                break;
-            }
-                
-    
+		if (m_Compiled == null)
+			compile();
+		if (m_Metrics == null){
+			m_Compiled.distributionForInstance(datum, rulesCoveringForEachClass);
+		}else{
+			long start = System.nanoTime();
+			m_Compiled.distributionForInstance(datum, rulesCoveringForEachClass);
+			m_InferenceLatency.record(System.nanoTime() - start);
 		}
 
 
@@ -397,23 +892,160 @@ import keel.Dataset.InstanceSet;
 
 	}
 
+	/**
+	 * Computes the class distributions of a whole set of instances at once,
+	 * evaluating each antecedent column-wise over the set. The set is split
+	 * in blocks among m_numThreads threads.
+	 *
+	 * @param data the instances to be classified
+	 * @return the distributions, one after the other, numClasses values each
+	 */
+	public double[] distributionForBatch(ColumnarInstances data){
+		if (m_Compiled == null)
+			compile();
+		if (m_numThreads <= 1)
+			return m_Compiled.distributionForBatch(data, null);
+		ForkJoinPool pool = new ForkJoinPool(m_numThreads);
+		try {
+			return m_Compiled.distributionForBatch(data, pool);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Computes the class distributions of a whole set of instances at once
+	 *
+	 * @param data the instances to be classified
+	 * @return the distributions, one after the other, numClasses values each
+	 */
+	public double[] distributionForBatch(Instances data){
+		return distributionForBatch(columnar(data));
+	}
+
+	/**
+	 * Classifies a whole set of instances at once, evaluating each
+	 * antecedent column-wise over the set. The set is split in blocks among
+	 * m_numThreads threads.
+	 *
+	 * @param data the instances to be classified
+	 * @return the predicted class of each instance, -1 if it is unclassified
+	 */
+	public int[] classifyBatch(ColumnarInstances data){
+		if (m_Compiled == null)
+			compile();
+		long start = System.nanoTime();
+		int[] predictions;
+		if (m_numThreads <= 1){
+			predictions = m_Compiled.classifyBatch(data, null);
+		}else{
+			ForkJoinPool pool = new ForkJoinPool(m_numThreads);
+			try {
+				predictions = m_Compiled.classifyBatch(data, pool);
+			} finally {
+				pool.shutdown();
+			}
+		}
+		if (m_Metrics != null)
+			m_Metrics.record("batch", "rows", data.numInstances(), "ms", millis(start));
+		return predictions;
+	}
+
+	/**
+	 * Classifies some rows of a set of instances, given by their positions,
+	 * without copying them.
+	 *
+	 * @param data the instances
+	 * @param rows the positions of the rows
+	 * @param from the first position of rows to classify
+	 * @param to the end of the positions to classify (exclusive)
+	 * @return the predicted class of the rows rows[from], ..., rows[to - 1],
+	 * -1 if it is unclassified
+	 */
+	public int[] classifyRows(ColumnarInstances data, int[] rows, int from, int to){
+		if (m_Compiled == null)
+			compile();
+		double[] dist = m_Compiled.distributionForRows(data, rows, from, to);
+		int[] predictions = new int[to - from];
+		for (int i = 0; i < predictions.length; i++)
+			predictions[i] = m_Compiled.classify(dist, i * m_Compiled.numClasses());
+		return predictions;
+	}
+
+	/**
+	 * Classifies a whole set of instances at once
+	 *
+	 * @param data the instances to be classified
+	 * @return the predicted class of each instance, -1 if it is unclassified
+	 */
+	public int[] classifyBatch(Instances data){
+		return classifyBatch(columnar(data));
+	}
+
+	/**
+	 * Flattens the ruleset into the primitive arrays used for inference.
+	 * It is done at the end of buildClassifier, and must be repeated if
+	 * m_Ruleset is changed afterwards.
+	 *
+	 * @return the compiled ruleset
+	 */
+	public CompiledRuleset compile(){
+		m_Compiled = new CompiledRuleset(m_Ruleset, m_Class.numValues());
+		return m_Compiled;
+	}
+
+	/**
+	 * Writes the trained model in the binary format of ModelFile.
+	 *
+	 * @param fileName the name of the file
+	 * @throws IOException if the file cannot be written
+	 */
+	public void writeModel(String fileName) throws IOException {
+		if (m_Compiled == null)
+			compile();
+		new ModelFile(m_Header, m_Compiled, m_alpha).write(fileName);
+	}
+
+	/**
+	 * Loads a model written by writeModel, ready to classify. Only the
+	 * compiled ruleset is restored, so the rules cannot be printed:
+	 * toString() and getMeasure() then report the numbers of layers and
+	 * rules of the compiled ruleset.
+	 *
+	 * @param fileName the name of the file
+	 * @throws IOException if the file cannot be read or is not a valid model
+	 */
+	public void loadModel(String fileName) throws IOException {
+		ModelFile model = ModelFile.read(fileName);
+		m_Header = model.header();
+		m_Class = m_Header.classAttribute();
+		m_alpha = model.alpha();
+		m_Compiled = model.ruleset();
+		m_Ruleset = null;
+	}
+
     /**
-	 * It writes the training and test files with the real and predicted classes
-	 * @param outputVal String The string with the training (validation) output
-	 * @param outputTest String The string with the test output
-	 * @param accTrain double The accuracy rate in training
-	 * @param accTest double The accuracy rate in test
+	 * It returns the header of the training and test output files
+	 * @return String The header of the data files
 	 */
-	void writeOutput(String outputVal, String outputTest, double accTrain, double accTest){
-		String p = new String("");
-		p = "@relation " + Attributes.getRelationName() + "\n";
+	String outputHeader(){
+		if (m_HeaderText != null)
+			return m_HeaderText;
+		String p = "@relation " + Attributes.getRelationName() + "\n";
 		p += Attributes.getInputAttributesHeader();
 		p += Attributes.getOutputAttributesHeader();
 		p += Attributes.getInputHeader() + "\n";
 		p += Attributes.getOutputHeader() + "\n";
 		p += "@data\n";
-		Files.writeFile(outputTrainFile,p+outputVal);
-		Files.writeFile(outputTestFile,p+outputTest);
+		return p;
+	}
+
+	/**
+	 * It prints the accuracy rates once the output files are written
+	 * @param accTrain double The accuracy rate in training
+	 * @param accTest double The accuracy rate in test
+	 */
+	void writeOutput(double accTrain, double accTest){
 		System.out.println("Training accuracy: "+accTrain);
 		System.out.println("Test accuracy: "+accTest);
 		System.out.println("m_Optimizations = " + m_Optimizations);
@@ -427,7 +1059,8 @@ import keel.Dataset.InstanceSet;
 	 */
 	public double getMeasure(String additionalMeasureName) {
 		if (additionalMeasureName.compareToIgnoreCase("measureNumRules") == 0) 
-			return m_Ruleset.size();
+			return (m_Ruleset != null) ? m_Ruleset.size()
+					: (m_Compiled != null) ? m_Compiled.numLayers() : 0;
 		else 
 			throw new IllegalArgumentException(additionalMeasureName+" not supported (RIPPER)");
 	}  
@@ -522,17 +1155,21 @@ import keel.Dataset.InstanceSet;
 	 * @return a textual description of the classifier
 	 */
 	public String toString() {
+		if (m_Ruleset == null && m_Compiled != null)
+			return "FRBDT model loaded from file, the rules are not available.\n"
+				+ "\nNumber of layers : " + m_Compiled.numLayers()
+				+ "\nNumber of rules : " + m_Compiled.numRules() + "\n";
 		if (m_Ruleset == null) 
 			return "FRBDT: No model built yet.";
 
 		StringBuffer sb = new StringBuffer("FRBDT rules:\n"+
 		"===========\n\n"); 
 		for(int j=0; j<m_Ruleset.size(); j++){
-			FastVector layerRules = (FastVector)m_Ruleset.elementAt(j);
+			RuleList layerRules = m_Ruleset.get(j);
 			sb.append("The "+j+"-th layer rules:");
 			for(int k=0; k<layerRules.size(); k++){
 				//System.out.println("rules size = " + rules.size());
-				sb.append(((RipperRule)layerRules.elementAt(k)).toString(m_Class)
+				sb.append(layerRules.get(k).toString(m_Class)
 						 +"\n");
 			}			    
 		}
@@ -546,7 +1183,7 @@ import keel.Dataset.InstanceSet;
 	 *
 	 * @return the ruleset
 	 */
-	public FastVector getRuleset(){ return m_Ruleset; }
+	public LayerList getRuleset(){ return m_Ruleset; }
 
 
     public void setMaxAttUsed(int maxl){
@@ -567,6 +1204,67 @@ import keel.Dataset.InstanceSet;
     
       public double getShreshold(){return m_shreshold;}
 
+      public void setNumThreads(int numThreads){
+        m_numThreads=numThreads;
+      }
+
+      public int getNumThreads(){return m_numThreads;}
+
+      public void setParallelAttributes(boolean parallel){
+        m_parallelAttributes=parallel;
+      }
+
+      public boolean getParallelAttributes(){return m_parallelAttributes;}
+
+      public void setEarlyExit(boolean earlyExit){
+        m_earlyExit=earlyExit;
+      }
+
+      public boolean getEarlyExit(){return m_earlyExit;}
+
+      /**
+       * Sets the receiver of the measurements of training and inference
+       *
+       * @param metrics the sink, or null to stop measuring
+       */
+      public void setMetricsSink(MetricsSink metrics){
+        m_Metrics=metrics;
+      }
+
+      public MetricsSink getMetricsSink(){return m_Metrics;}
+
+      public void setSortedIndex(boolean sortedIndex){
+        m_sortedIndex=sortedIndex;
+      }
+
+      public boolean getSortedIndex(){return m_sortedIndex;}
+
+      public void setStreamingLoad(boolean streaming){
+        m_streamingLoad=streaming;
+      }
+
+      public boolean getStreamingLoad(){return m_streamingLoad;}
+
+      public void setSparseData(boolean sparse){
+        m_sparseData=sparse;
+      }
+
+      public boolean getSparseData(){return m_sparseData;}
+
+      public void setCacheData(boolean cache){
+        m_cacheData=cache;
+        if (cache)
+          m_streamingLoad=true;
+      }
+
+      public boolean getCacheData(){return m_cacheData;}
+
+      public void setCacheDirectory(String directory){
+        m_cacheDirectory=directory;
+      }
+
+      public String getCacheDirectory(){return m_cacheDirectory;}
+
  }
 
 
@@ -0,0 +1,167 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+package keel.Algorithms.Decision_Trees.FRBDT;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import keel.Algorithms.Decision_Trees.FRBDT.core.*;
+
+/**
+ * <p>Title: Scoring Program</p>
+ *
+ * <p>Description: It loads a model written with the ModelFile parameter and
+ * classifies a KEEL data file with it, writing the header of the file and
+ * a "real predicted" line for each instance, as the outputs of the
+ * training program. The file is read in blocks of rows, so files of any
+ * size are scored in bounded memory: while one block is classified on all
+ * the cores, the next one is parsed, and the blocks are written in
+ * order.</p>
+ *
+ * <p>Usage: Score &lt;model file&gt; &lt;data file&gt; &lt;output file&gt;
+ * [threads] [rows per block]</p>
+ */
+public class Score {
+
+  /** The default number of rows per block */
+  public static final int DEFAULT_BLOCK_SIZE = 1 << 16;
+
+  /** The model */
+  private ModelFile m_Model;
+
+  /** The number of threads that classify a block */
+  private int m_NumThreads;
+
+  /** The number of rows per block */
+  private int m_BlockSize;
+
+  /**
+   * Constructor.
+   *
+   * @param model the model
+   * @param numThreads the number of threads that classify a block
+   * @param blockSize the number of rows per block
+   */
+  public Score(ModelFile model, int numThreads, int blockSize) {
+    m_Model = model;
+    m_NumThreads = Math.max(numThreads, 1);
+    m_BlockSize = Math.max(blockSize, 1);
+  }
+
+  /**
+   * Classifies a data file.
+   *
+   * @param dataFile the name of the KEEL data file
+   * @param outputFile the name of the output file
+   * @return the number of rows classified
+   * @throws Exception if a file cannot be read or written
+   */
+  public long score(String dataFile, String outputFile) throws Exception {
+
+    KeelDataReader reader = new KeelDataReader(dataFile, m_Model.header());
+    PredictionWriter out = new PredictionWriter(outputFile, reader.headerText(),
+                                                m_Model.header().classAttribute());
+    final ForkJoinPool pool = m_NumThreads > 1 ? new ForkJoinPool(m_NumThreads) : null;
+    ExecutorService scorer = pool != null ? Executors.newSingleThreadExecutor() : null;
+    try {
+      final CompiledRuleset ruleset = m_Model.ruleset();
+      double[] values = new double[m_Model.header().numAttributes()];
+      ColumnarInstances[] blocks = new ColumnarInstances[2];
+      for (int b = 0; b < blocks.length; b++)
+        blocks[b] = new ColumnarInstances(m_Model.header(), m_BlockSize);
+
+      long numRows = 0;
+      ColumnarInstances pendingBlock = null;
+      Future<int[]> pending = null;
+      for (int b = 0; ; b ^= 1) {
+        final ColumnarInstances block = blocks[b];
+        block.clear();
+        while (block.numInstances() < m_BlockSize && reader.readRow(values))
+          block.add(values, 1.0);
+
+        // the previous block has been classified meanwhile
+        if (pending != null)
+          out.write(pendingBlock, pending.get());
+        if (block.numInstances() == 0)
+          break;
+        numRows += block.numInstances();
+        if (scorer == null) {
+          out.write(block, ruleset.classifyBatch(block, null));
+          continue;
+        }
+        pendingBlock = block;
+        pending = scorer.submit(new Callable<int[]>() {
+          public int[] call() {
+            return ruleset.classifyBatch(block, pool);
+          }
+        });
+      }
+      return numRows;
+    } finally {
+      if (scorer != null)
+        scorer.shutdown();
+      if (pool != null)
+        pool.shutdown();
+      reader.close();
+      out.close();
+    }
+  }
+
+  /**
+   * Main Program
+   *
+   * @param args the model file, the data file, the output file and,
+   * optionally, the number of threads and the number of rows per block
+   */
+  public static void main(String args[]) {
+
+    if (args.length < 3) {
+      System.err.println("Usage: Score <model file> <data file> <output file> [threads] [rows per block]");
+      System.exit(1);
+    }
+    long t_ini = System.currentTimeMillis();
+    try {
+      int numThreads = args.length > 3 ? Integer.parseInt(args[3])
+                                       : Runtime.getRuntime().availableProcessors();
+      int blockSize = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_BLOCK_SIZE;
+      Score score = new Score(ModelFile.read(args[0]), numThreads, blockSize);
+      long numRows = score.score(args[1], args[2]);
+      System.out.println("Scored rows: " + numRows);
+    } catch (Exception ex) {
+      System.err.println("Fatal Error scoring the data!");
+      ex.printStackTrace();
+      System.exit(1);
+    }
+    System.out.println("Execute Time: " + (System.currentTimeMillis() - t_ini));
+  }
+}
@@ -0,0 +1,631 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+package keel.Algorithms.Decision_Trees.FRBDT;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import keel.Algorithms.Decision_Trees.FRBDT.core.*;
+
+/**
+ * <p>Title: Scoring Server</p>
+ *
+ * <p>Description: A local HTTP server, built on the server bundled with the
+ * JDK, that classifies rows with a model written with the ModelFile
+ * parameter. It listens on the loopback address unless another address is
+ * given explicitly. The rows of concurrent requests are coalesced into micro
+ * batches: the first request waits at most the configured time for others
+ * to join it, and the whole batch is then classified at once.</p>
+ *
+ * <p>Endpoints:</p>
+ * <ul>
+ * <li>POST /score: one row per line, the values of the input attributes
+ * separated by commas, in the order of the training file ("?" for a
+ * missing value, the label for a nominal value); the class value may be
+ * included and is then ignored. The response has one line per row, the
+ * predicted label and the class distribution separated by commas.</li>
+ * <li>GET /stats: the number of requests, rows and batches, and the p50,
+ * p99 and maximum latency of the requests in microseconds.</li>
+ * </ul>
+ *
+ * <p>A body larger than MAX_BODY_BYTES is refused with 413.</p>
+ *
+ * <p>The requests are handled on virtual threads when the JVM has them,
+ * and on a cached thread pool otherwise.</p>
+ *
+ * <p>Usage: ScoringServer &lt;model file&gt; &lt;port&gt; [max wait in
+ * microseconds] [max rows per batch] [threads] [bind address]</p>
+ */
+public class ScoringServer {
+
+  /** The default time the first request of a batch waits for others */
+  public static final long DEFAULT_MAX_WAIT_MICROS = 1000;
+
+  /** The default number of rows of a batch */
+  public static final int DEFAULT_MAX_BATCH_ROWS = 4096;
+
+  /** The largest body of a request, in bytes */
+  public static final int MAX_BODY_BYTES = 16 << 20;
+
+  /** The model */
+  private ModelFile m_Model;
+
+  /** The time the first request of a batch waits for others, in nanoseconds */
+  private long m_MaxWaitNanos;
+
+  /** The number of rows of a batch */
+  private int m_MaxBatchRows;
+
+  /** The HTTP server */
+  private HttpServer m_Server;
+
+  /** The threads that handle the requests */
+  private ExecutorService m_Handlers;
+
+  /** The pool that classifies the large batches, null for a single thread */
+  private ForkJoinPool m_Pool;
+
+  /** The requests waiting for their batch */
+  private final BlockingQueue<Request> m_Queue = new LinkedBlockingQueue<Request>();
+
+  /** The thread that forms and classifies the batches */
+  private Thread m_Batcher;
+
+  /** Whether the server is stopping, so that new requests are refused */
+  private volatile boolean m_Stopping;
+
+  /** The latency of the requests, in nanoseconds */
+  private final LatencyHistogram m_Latency = new LatencyHistogram();
+
+  /** The number of rows classified */
+  private final AtomicLong m_NumRows = new AtomicLong();
+
+  /** The number of batches classified */
+  private final AtomicLong m_NumBatches = new AtomicLong();
+
+  /**
+   * The rows of one request, and their class distributions once classified.
+   */
+  private static class Request {
+
+    /** The rows, with every attribute */
+    final double[][] rows;
+
+    /** The class distributions of the rows, one after the other */
+    double[] dist;
+
+    /** The error that prevented the classification, if any */
+    Throwable error;
+
+    /** Whether the request was dropped because the server is stopping */
+    boolean stopped;
+
+    /** Released when the request is classified */
+    final CountDownLatch done = new CountDownLatch(1);
+
+    Request(double[][] rows) {
+      this.rows = rows;
+    }
+  }
+
+  /**
+   * Constructor. The server listens on the loopback address.
+   *
+   * @param model the model
+   * @param port the port, 0 for any free port
+   * @param maxWaitMicros the time the first request of a batch waits for others
+   * @param maxBatchRows the number of rows of a batch
+   * @param numThreads the number of threads that classify a batch
+   * @throws IOException if the port cannot be bound
+   */
+  public ScoringServer(ModelFile model, int port, long maxWaitMicros,
+                       int maxBatchRows, int numThreads) throws IOException {
+    this(model, InetAddress.getLoopbackAddress(), port, maxWaitMicros, maxBatchRows,
+         numThreads);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param model the model
+   * @param address the address to listen on
+   * @param port the port, 0 for any free port
+   * @param maxWaitMicros the time the first request of a batch waits for others
+   * @param maxBatchRows the number of rows of a batch
+   * @param numThreads the number of threads that classify a batch
+   * @throws IOException if the port cannot be bound
+   */
+  public ScoringServer(ModelFile model, InetAddress address, int port, long maxWaitMicros,
+                       int maxBatchRows, int numThreads) throws IOException {
+
+    m_Model = model;
+    m_MaxWaitNanos = Math.max(maxWaitMicros, 0) * 1000;
+    m_MaxBatchRows = Math.max(maxBatchRows, 1);
+    if (numThreads > 1)
+      m_Pool = new ForkJoinPool(numThreads);
+    m_Server = HttpServer.create(new InetSocketAddress(address, port), 0);
+    m_Server.createContext("/score", new HttpHandler() {
+      public void handle(HttpExchange exchange) throws IOException {
+        score(exchange);
+      }
+    });
+    m_Server.createContext("/stats", new HttpHandler() {
+      public void handle(HttpExchange exchange) throws IOException {
+        stats(exchange);
+      }
+    });
+  }
+
+  /**
+   * Creates an executor that runs each task on a new virtual thread, if the
+   * JVM has them, or on a cached thread pool otherwise.
+   *
+   * @return the executor
+   */
+  static ExecutorService newHandlerExecutor() {
+
+    try {
+      Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService)method.invoke(null);
+    } catch (Exception e) {
+      return Executors.newCachedThreadPool();
+    }
+  }
+
+  /**
+   * Starts serving.
+   */
+  public void start() {
+
+    m_Handlers = newHandlerExecutor();
+    m_Server.setExecutor(m_Handlers);
+    m_Batcher = new Thread(new Runnable() {
+      public void run() {
+        batchLoop();
+      }
+    }, "FRBDT batcher");
+    m_Batcher.setDaemon(true);
+    m_Batcher.start();
+    m_Server.start();
+  }
+
+  /**
+   * Stops serving. The batch being classified is finished, the requests
+   * still waiting for a batch are answered with 503 (server stopping), and
+   * the server then waits at most the given time for the answers in
+   * progress.
+   *
+   * @param delaySeconds the time to wait
+   */
+  public void stop(int delaySeconds) {
+
+    m_Stopping = true;
+    if (m_Batcher != null) {
+      m_Batcher.interrupt();
+      try {
+        m_Batcher.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    releaseQueued();
+    m_Server.stop(delaySeconds);
+    if (m_Handlers != null)
+      m_Handlers.shutdown();
+    if (m_Pool != null)
+      m_Pool.shutdown();
+  }
+
+  /**
+   * Returns the port the server listens on
+   *
+   * @return the port
+   */
+  public int port() {
+    return m_Server.getAddress().getPort();
+  }
+
+  /**
+   * Returns the latency of the requests, in nanoseconds
+   *
+   * @return the histogram of the latencies
+   */
+  public LatencyHistogram latency() {
+    return m_Latency;
+  }
+
+  /**
+   * Forms the batches and classifies them until the server stops. An error
+   * only fails the requests of its batch, so the loop goes on serving.
+   */
+  private void batchLoop() {
+
+    List<Request> batch = new ArrayList<Request>();
+    ColumnarInstances block = new ColumnarInstances(m_Model.header(), m_MaxBatchRows);
+    int numRows = 0;
+    while (true) {
+      try {
+        // a large request grew the block past a batch, give the memory back
+        if (numRows > m_MaxBatchRows)
+          block = new ColumnarInstances(m_Model.header(), m_MaxBatchRows);
+        Request first = m_Queue.take();
+        batch.add(first);
+        numRows = first.rows.length;
+        long deadline = System.nanoTime() + m_MaxWaitNanos;
+        while (numRows < m_MaxBatchRows) {
+          long left = deadline - System.nanoTime();
+          Request next = left > 0 ? m_Queue.poll(left, TimeUnit.NANOSECONDS) : m_Queue.poll();
+          if (next == null)
+            break;
+          batch.add(next);
+          numRows += next.rows.length;
+        }
+        classify(batch, block);
+      } catch (InterruptedException e) {
+        // the server is stopping
+        for (int r = 0; r < batch.size(); r++)
+          release(batch.get(r), null, true);
+        releaseQueued();
+        return;
+      } catch (Throwable e) {
+        for (int r = 0; r < batch.size(); r++)
+          release(batch.get(r), e, false);
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  /**
+   * Releases a request that has not been classified, unless it was
+   * already released.
+   *
+   * @param request the request
+   * @param error the error that prevented the classification, or null
+   * @param stopped whether it is released because the server is stopping
+   */
+  private static void release(Request request, Throwable error, boolean stopped) {
+
+    if (request.done.getCount() == 0)
+      return;
+    request.error = error;
+    request.stopped = stopped;
+    request.done.countDown();
+  }
+
+  /**
+   * Releases all the queued requests with a "server stopping" answer.
+   */
+  private void releaseQueued() {
+
+    Request request;
+    while ((request = m_Queue.poll()) != null)
+      release(request, null, true);
+  }
+
+  /**
+   * Classifies a batch of requests at once and releases them.
+   *
+   * @param batch the requests
+   * @param block the set the rows are copied into
+   */
+  private void classify(List<Request> batch, ColumnarInstances block) {
+
+    int numClasses = m_Model.ruleset().numClasses();
+    Throwable error = null;
+    try {
+      block.clear();
+      for (int r = 0; r < batch.size(); r++) {
+        double[][] rows = batch.get(r).rows;
+        for (int i = 0; i < rows.length; i++)
+          block.add(rows[i], 1.0);
+      }
+      double[] dist = m_Model.ruleset().distributionForBatch(block, m_Pool);
+      int offset = 0;
+      for (int r = 0; r < batch.size(); r++) {
+        Request request = batch.get(r);
+        int length = request.rows.length * numClasses;
+        request.dist = new double[length];
+        System.arraycopy(dist, offset, request.dist, 0, length);
+        offset += length;
+      }
+      m_NumRows.addAndGet(block.numInstances());
+      m_NumBatches.incrementAndGet();
+    } catch (Throwable e) {
+      error = e;
+    } finally {
+      for (int r = 0; r < batch.size(); r++)
+        release(batch.get(r), error, false);
+    }
+  }
+
+  /**
+   * Handles a request to classify rows.
+   *
+   * @param exchange the HTTP exchange
+   * @throws IOException if the response cannot be sent
+   */
+  private void score(HttpExchange exchange) throws IOException {
+
+    long start = System.nanoTime();
+    try {
+      if (!"POST".equals(exchange.getRequestMethod())) {
+        respond(exchange, 405, "Use POST\n");
+        return;
+      }
+      byte[] body = readBody(exchange.getRequestBody(), MAX_BODY_BYTES);
+      if (body == null) {
+        respond(exchange, 413, "Body larger than " + MAX_BODY_BYTES + " bytes\n");
+        return;
+      }
+      double[][] rows;
+      try {
+        rows = parseRows(new String(body, "UTF-8"));
+      } catch (IllegalArgumentException e) {
+        respond(exchange, 400, e.getMessage() + "\n");
+        return;
+      }
+      if (m_Stopping) {
+        respond(exchange, 503, "Server stopping\n");
+        return;
+      }
+      Request request = new Request(rows);
+      if (rows.length > 0) {
+        m_Queue.add(request);
+        /* a request queued while stop() drains the queue is released here */
+        if (m_Stopping)
+          releaseQueued();
+        try {
+          request.done.await();
+        } catch (InterruptedException e) {
+          respond(exchange, 503, "Interrupted\n");
+          return;
+        }
+      } else {
+        request.dist = new double[0];
+      }
+      if (request.stopped) {
+        respond(exchange, 503, "Server stopping\n");
+        return;
+      }
+      if (request.error != null) {
+        respond(exchange, 500, request.error + "\n");
+        return;
+      }
+      respond(exchange, 200, format(request));
+    } finally {
+      exchange.close();
+      m_Latency.record(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Handles a request for the statistics.
+   *
+   * @param exchange the HTTP exchange
+   * @throws IOException if the response cannot be sent
+   */
+  private void stats(HttpExchange exchange) throws IOException {
+
+    try {
+      StringBuffer text = new StringBuffer();
+      text.append("requests ").append(m_Latency.count()).append('\n');
+      text.append("rows ").append(m_NumRows.get()).append('\n');
+      text.append("batches ").append(m_NumBatches.get()).append('\n');
+      text.append("p50_us ").append(m_Latency.percentile(50) / 1000).append('\n');
+      text.append("p99_us ").append(m_Latency.percentile(99) / 1000).append('\n');
+      text.append("max_us ").append(m_Latency.max() / 1000).append('\n');
+      respond(exchange, 200, text.toString());
+    } finally {
+      exchange.close();
+    }
+  }
+
+  /**
+   * Parses the rows of a request.
+   *
+   * @param body the body of the request
+   * @return the rows, with every attribute and a missing class
+   * @throws IllegalArgumentException if a row is not valid
+   */
+  double[][] parseRows(String body) {
+
+    Instances header = m_Model.header();
+    int numAttributes = header.numAttributes();
+    int classIndex = header.classIndex();
+    List<double[]> rows = new ArrayList<double[]>();
+    String[] lines = body.split("\r?\n");
+    for (int l = 0; l < lines.length; l++) {
+      String line = lines[l].trim();
+      if (line.length() == 0)
+        continue;
+      String[] tokens = line.split(",");
+      boolean withClass = tokens.length == numAttributes;
+      if (!withClass && tokens.length != numAttributes - 1)
+        throw new IllegalArgumentException("Line " + (l + 1) + ": expected "
+                                           + (numAttributes - 1) + " values, found "
+                                           + tokens.length);
+      double[] values = new double[numAttributes];
+      int t = 0;
+      for (int a = 0; a < numAttributes; a++) {
+        if (a == classIndex) {
+          values[a] = Instance.missingValue();
+          if (withClass)
+            t++;
+          continue;
+        }
+        values[a] = parseValue(header.attribute(a), tokens[t++].trim(), l + 1);
+      }
+      rows.add(values);
+    }
+    return rows.toArray(new double[rows.size()][]);
+  }
+
+  /**
+   * Parses one value.
+   *
+   * @param att the attribute of the value
+   * @param token the text of the value
+   * @param line the line, for the messages
+   * @return the value
+   * @throws IllegalArgumentException if the value is not valid
+   */
+  private static double parseValue(AttributeWeka att, String token, int line) {
+
+    if (token.equals("?"))
+      return Instance.missingValue();
+    if (att.isNominal()) {
+      int index = att.indexOfValue(token);
+      if (index < 0)
+        throw new IllegalArgumentException("Line " + line + ": unknown value " + token
+                                           + " of " + att.name());
+      return index;
+    }
+    try {
+      return Double.parseDouble(token);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Line " + line + ": bad number " + token);
+    }
+  }
+
+  /**
+   * Formats the classification of a request, one line per row.
+   *
+   * @param request the classified request
+   * @return the text of the response
+   */
+  private String format(Request request) {
+
+    CompiledRuleset ruleset = m_Model.ruleset();
+    AttributeWeka classAtt = m_Model.header().classAttribute();
+    int numClasses = ruleset.numClasses();
+    StringBuffer text = new StringBuffer(request.rows.length * 16 * numClasses);
+    for (int i = 0; i < request.rows.length; i++) {
+      int o = i * numClasses;
+      // unclassified rows go to the first class, as in FRBDT.execute
+      text.append(classAtt.value(Math.max(ruleset.classify(request.dist, o), 0)));
+      for (int c = 0; c < numClasses; c++)
+        text.append(c == 0 ? ' ' : ',').append(request.dist[o + c]);
+      text.append('\n');
+    }
+    return text.toString();
+  }
+
+  /**
+   * Reads the whole body of a request, up to a maximum size.
+   *
+   * @param in the body
+   * @param maxBytes the maximum size
+   * @return the bytes of the body, or null if it is larger than maxBytes
+   * @throws IOException if the body cannot be read
+   */
+  private static byte[] readBody(InputStream in, int maxBytes) throws IOException {
+
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    byte[] buffer = new byte[8192];
+    int n;
+    while ((n = in.read(buffer)) > 0) {
+      if (body.size() + n > maxBytes)
+        return null;
+      body.write(buffer, 0, n);
+    }
+    return body.toByteArray();
+  }
+
+  /**
+   * Sends a plain text response.
+   *
+   * @param exchange the HTTP exchange
+   * @param status the status code
+   * @param text the body
+   * @throws IOException if the response cannot be sent
+   */
+  private static void respond(HttpExchange exchange, int status, String text)
+  throws IOException {
+
+    byte[] bytes = text.getBytes("UTF-8");
+    exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+    exchange.sendResponseHeaders(status, bytes.length);
+    OutputStream out = exchange.getResponseBody();
+    out.write(bytes);
+    out.close();
+  }
+
+  /**
+   * Main Program
+   *
+   * @param args the model file, the port and, optionally, the maximum wait
+   * in microseconds, the maximum rows per batch, the number of threads and
+   * the address to listen on instead of the loopback address
+   */
+  public static void main(String args[]) {
+
+    if (args.length < 2) {
+      System.err.println("Usage: ScoringServer <model file> <port> [max wait us] [max batch rows] [threads] [bind address]");
+      System.exit(1);
+    }
+    try {
+      long maxWait = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_MAX_WAIT_MICROS;
+      int maxRows = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_MAX_BATCH_ROWS;
+      int numThreads = args.length > 4 ? Integer.parseInt(args[4])
+                                       : Runtime.getRuntime().availableProcessors();
+      InetAddress address = args.length > 5 ? InetAddress.getByName(args[5])
+                                            : InetAddress.getLoopbackAddress();
+      ScoringServer server = new ScoringServer(ModelFile.read(args[0]), address,
+                                               Integer.parseInt(args[1]),
+                                               maxWait, maxRows, numThreads);
+      server.start();
+      System.out.println("Scoring on " + address.getHostAddress() + " port " + server.port());
+    } catch (Exception ex) {
+      System.err.println("Fatal Error starting the scoring server!");
+      ex.printStackTrace();
+      System.exit(1);
+    }
+  }
+}
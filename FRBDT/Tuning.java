@@ -0,0 +1,371 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+
+package keel.Algorithms.Decision_Trees.FRBDT;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+import keel.Algorithms.Decision_Trees.FRBDT.core.*;
+
+/**
+ * <p>Title: Parameter search</p>
+ *
+ * <p>Description: Searches the maximum number of attributes per rule, the
+ * threshold and alpha of FRBDT over a grid of values, or over a random
+ * sample of the grid, in one process. Each trial trains a classifier on
+ * the training data and measures its accuracy on the validation data. The
+ * trials run in parallel and share the parsed data and the statistics and
+ * sorted index of the first layer, which are the same for all of them.
+ * A validation row that no rule covers counts as correct only if its class
+ * is the first one.</p>
+ */
+public class Tuning {
+
+  /** The classifier whose other parameters are used in every trial */
+  private FRBDT m_Template;
+
+  /** The maximum number of attributes per rule of each trial */
+  private int[] m_MaxAttUsed;
+
+  /** The threshold of each trial */
+  private double[] m_Thresholds;
+
+  /** The alpha of each trial */
+  private double[] m_Alphas;
+
+  /** The number of trials run at once */
+  private int m_NumThreads;
+
+  /** The validation accuracy of each trial */
+  private double[] m_Accuracy;
+
+  /** The number of rules of each trial */
+  private int[] m_NumRules;
+
+  /** The training time of each trial, in milliseconds */
+  private double[] m_TrainMillis;
+
+  /**
+   * Constructor, with a trial for every combination of the given values.
+   *
+   * @param template the classifier whose other parameters are used
+   * @param maxAttUsed the values of the maximum number of attributes per rule
+   * @param thresholds the values of the threshold
+   * @param alphas the values of alpha
+   * @param numThreads the number of trials run at once; when it is more
+   * than one, each trial is trained on one thread
+   */
+  public Tuning(FRBDT template, int[] maxAttUsed, double[] thresholds, double[] alphas,
+                int numThreads) {
+    m_Template = template;
+    m_NumThreads = Math.max(numThreads, 1);
+    int numTrials = maxAttUsed.length * thresholds.length * alphas.length;
+    m_MaxAttUsed = new int[numTrials];
+    m_Thresholds = new double[numTrials];
+    m_Alphas = new double[numTrials];
+    int t = 0;
+    for (int i = 0; i < maxAttUsed.length; i++)
+      for (int j = 0; j < thresholds.length; j++)
+        for (int k = 0; k < alphas.length; k++) {
+          m_MaxAttUsed[t] = maxAttUsed[i];
+          m_Thresholds[t] = thresholds[j];
+          m_Alphas[t++] = alphas[k];
+        }
+  }
+
+  /**
+   * Keeps a random sample of the trials of the grid, in grid order.
+   *
+   * @param numTrials the number of trials to keep
+   * @param random the generator of the sample
+   */
+  public void sample(int numTrials, Random random) {
+
+    int numGrid = m_MaxAttUsed.length;
+    if (numTrials >= numGrid)
+      return;
+    int[] order = new int[numGrid];
+    for (int t = 0; t < numGrid; t++)
+      order[t] = t;
+    for (int t = 0; t < numTrials; t++) {
+      int k = t + random.nextInt(numGrid - t);
+      int swap = order[t];
+      order[t] = order[k];
+      order[k] = swap;
+    }
+    int[] chosen = Arrays.copyOf(order, Math.max(numTrials, 1));
+    Arrays.sort(chosen);
+    int[] maxAttUsed = new int[chosen.length];
+    double[] thresholds = new double[chosen.length];
+    double[] alphas = new double[chosen.length];
+    for (int t = 0; t < chosen.length; t++) {
+      maxAttUsed[t] = m_MaxAttUsed[chosen[t]];
+      thresholds[t] = m_Thresholds[chosen[t]];
+      alphas[t] = m_Alphas[chosen[t]];
+    }
+    m_MaxAttUsed = maxAttUsed;
+    m_Thresholds = thresholds;
+    m_Alphas = alphas;
+  }
+
+  /**
+   * Runs the trials.
+   *
+   * @param train the prepared training data
+   * @param validation the validation data
+   * @throws Exception if a trial cannot be trained
+   */
+  public void run(final PreparedData train, final ColumnarInstances validation)
+  throws Exception {
+
+    int numTrials = numTrials();
+    m_Accuracy = new double[numTrials];
+    m_NumRules = new int[numTrials];
+    m_TrainMillis = new double[numTrials];
+
+    /* built here once, so that no trial waits for another one to build it */
+    if (m_Template.getSortedIndex() && !train.data().isSparse())
+      train.index();
+
+    ArrayList<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+    for (int t = 0; t < numTrials; t++) {
+      final int trial = t;
+      tasks.add(new Callable<Void>() {
+        public Void call() throws Exception {
+          runTrial(train, validation, trial);
+          return null;
+        }
+      });
+    }
+    FRBDT.invokeAll(m_NumThreads, tasks);
+  }
+
+  /**
+   * Trains and validates one trial.
+   *
+   * @param train the prepared training data
+   * @param validation the validation data
+   * @param t the trial
+   * @throws Exception if the trial cannot be trained
+   */
+  private void runTrial(PreparedData train, ColumnarInstances validation, int t)
+  throws Exception {
+
+    FRBDT classifier = m_Template.copyParameters();
+    if (m_NumThreads > 1)
+      classifier.setNumThreads(1);
+    classifier.setMaxAttUsed(m_MaxAttUsed[t]);
+    classifier.setShreshlod(m_Thresholds[t]);
+    classifier.setAlpha(m_Alphas[t]);
+
+    long start = System.nanoTime();
+    classifier.buildClassifier(train);
+    m_TrainMillis[t] = (System.nanoTime() - start) / 1e6;
+
+    int[] predictions = classifier.classifyBatch(validation);
+    int hits = 0;
+    for (int i = 0; i < predictions.length; i++) {
+      if (validation.classValue(i) == Math.max(predictions[i], 0))
+        hits++;
+    }
+    m_Accuracy[t] = predictions.length == 0 ? 0 : 1.0 * hits / predictions.length;
+    for (int i = 0; i < classifier.m_Ruleset.size(); i++)
+      m_NumRules[t] += classifier.m_Ruleset.get(i).size();
+  }
+
+  /**
+   * Returns the trial with the best validation accuracy, the first one on
+   * ties
+   *
+   * @return the trial
+   */
+  public int best() {
+
+    int best = 0;
+    for (int t = 1; t < m_Accuracy.length; t++) {
+      if (m_Accuracy[t] > m_Accuracy[best])
+        best = t;
+    }
+    return best;
+  }
+
+  /**
+   * Sets the parameters of the best trial in a classifier
+   *
+   * @param classifier the classifier
+   */
+  public void apply(FRBDT classifier) {
+
+    int best = best();
+    classifier.setMaxAttUsed(m_MaxAttUsed[best]);
+    classifier.setShreshlod(m_Thresholds[best]);
+    classifier.setAlpha(m_Alphas[best]);
+  }
+
+  /**
+   * Returns the number of trials
+   *
+   * @return the number of trials
+   */
+  public int numTrials() {
+
+    return m_MaxAttUsed.length;
+  }
+
+  /**
+   * Returns the maximum number of attributes per rule of a trial
+   *
+   * @param t the trial
+   * @return the value
+   */
+  public int maxAttUsed(int t) {
+
+    return m_MaxAttUsed[t];
+  }
+
+  /**
+   * Returns the threshold of a trial
+   *
+   * @param t the trial
+   * @return the value
+   */
+  public double threshold(int t) {
+
+    return m_Thresholds[t];
+  }
+
+  /**
+   * Returns the alpha of a trial
+   *
+   * @param t the trial
+   * @return the value
+   */
+  public double alpha(int t) {
+
+    return m_Alphas[t];
+  }
+
+  /**
+   * Returns the validation accuracy of a trial
+   *
+   * @param t the trial
+   * @return the accuracy
+   */
+  public double accuracy(int t) {
+
+    return m_Accuracy[t];
+  }
+
+  /**
+   * Returns the number of rules of the classifier of a trial
+   *
+   * @param t the trial
+   * @return the number of rules
+   */
+  public int numRules(int t) {
+
+    return m_NumRules[t];
+  }
+
+  /**
+   * Returns the training time of a trial
+   *
+   * @param t the trial
+   * @return the time in milliseconds
+   */
+  public double trainMillis(int t) {
+
+    return m_TrainMillis[t];
+  }
+
+  /**
+   * Parses a comma separated list of integers
+   *
+   * @param list the list
+   * @return the values
+   * @throws NumberFormatException if a value is not an integer
+   */
+  public static int[] parseInts(String list) {
+
+    String[] items = list.split(",");
+    int[] values = new int[items.length];
+    for (int i = 0; i < items.length; i++)
+      values[i] = Integer.parseInt(items[i].trim());
+    return values;
+  }
+
+  /**
+   * Parses a comma separated list of numbers
+   *
+   * @param list the list
+   * @return the values
+   * @throws NumberFormatException if a value is not a number
+   */
+  public static double[] parseDoubles(String list) {
+
+    String[] items = list.split(",");
+    double[] values = new double[items.length];
+    for (int i = 0; i < items.length; i++)
+      values[i] = Double.parseDouble(items[i].trim());
+    return values;
+  }
+
+  /**
+   * Returns a report of the trials
+   *
+   * @return the report
+   */
+  public String toString() {
+
+    if (m_Accuracy == null)
+      return "Parameter search not run yet.";
+    StringBuffer text = new StringBuffer();
+    text.append("Parameter search, ").append(numTrials()).append(" trial(s)\n\n");
+    text.append(" MaxAttUsed  Threshold      Alpha   Accuracy      Rules  Train (ms)\n");
+    for (int t = 0; t < numTrials(); t++) {
+      text.append(Utils.padLeft(Integer.toString(m_MaxAttUsed[t]), 11))
+        .append(Utils.doubleToString(m_Thresholds[t], 11, 4))
+        .append(Utils.doubleToString(m_Alphas[t], 11, 4))
+        .append(Utils.doubleToString(m_Accuracy[t], 11, 4))
+        .append(Utils.padLeft(Integer.toString(m_NumRules[t]), 11))
+        .append(Utils.doubleToString(m_TrainMillis[t], 12, 2)).append('\n');
+    }
+    int best = best();
+    text.append("\nBest: MaxAttUsed = ").append(m_MaxAttUsed[best])
+      .append(", Threshold = ").append(m_Thresholds[best])
+      .append(", Alpha = ").append(m_Alphas[best])
+      .append(", validation accuracy = ").append(Utils.doubleToString(m_Accuracy[best], 4))
+      .append('\n');
+    return text.toString();
+  }
+}
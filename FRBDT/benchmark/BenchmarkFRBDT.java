@@ -0,0 +1,69 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+package keel.Algorithms.Decision_Trees.FRBDT.benchmark;
+
+import keel.Algorithms.Decision_Trees.FRBDT.FRBDT;
+import keel.Algorithms.Decision_Trees.FRBDT.core.ColumnarInstances;
+import keel.Algorithms.Decision_Trees.FRBDT.core.Instances;
+import keel.Algorithms.Decision_Trees.FRBDT.core.LayerList;
+import keel.Dataset.InstanceSet;
+
+/**
+ * FRBDT with the protected steps of the training opened to the benchmarks.
+ */
+public class BenchmarkFRBDT extends FRBDT {
+
+  /** for serialization */
+  static final long serialVersionUID = 4130237762158541043L;
+
+  /**
+   * Grows the rules of one layer on a copy of the data, from which the
+   * covered rows are removed. The rules replace the current ruleset, which
+   * does not grow across calls.
+   *
+   * @param data the instances of the layer, which are not modified
+   * @return the number of instances left for the next layer
+   * @throws Exception if the rules cannot be grown
+   */
+  public int oneLayer(ColumnarInstances data) throws Exception {
+    m_Ruleset = new LayerList();
+    return rulesetForOneLayer(new ColumnarInstances(data));
+  }
+
+  /**
+   * Converts the instances read by KEEL into the Weka representation.
+   *
+   * @param is the KEEL instances
+   * @return the instances
+   */
+  public Instances convert(InstanceSet is) {
+    return InstancesKEEL2Weka(is, FILTER_NONE);
+  }
+}
@@ -0,0 +1,70 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+package keel.Algorithms.Decision_Trees.FRBDT.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks of this package with the GC profiler, which adds the
+ * allocation rate to the throughput, and writes the results as JSON so that
+ * runs can be compared.
+ *
+ * <p>The package is compiled against jmh-core and jmh-generator-annprocess,
+ * then run as</p>
+ * <pre>
+ * java -cp &lt;classpath&gt; keel.Algorithms.Decision_Trees.FRBDT.benchmark.BenchmarkRunner [jmh options]
+ * </pre>
+ * <p>The usual JMH options apply, e.g. a regular expression selecting the
+ * benchmarks or "-p rows=100000" to override a parameter; all the
+ * benchmarks run by default.</p>
+ */
+public class BenchmarkRunner {
+
+  /**
+   * Main program.
+   *
+   * @param args the JMH command line options
+   * @throws Exception if the benchmarks cannot be run
+   */
+  public static void main(String[] args) throws Exception {
+
+    CommandLineOptions cmd = new CommandLineOptions(args);
+    OptionsBuilder options = new OptionsBuilder();
+    options.parent(cmd);
+    options.addProfiler(GCProfiler.class);
+    options.resultFormat(ResultFormatType.JSON);
+    options.result("frbdt-benchmarks.json");
+    new Runner(options.build()).run();
+  }
+}
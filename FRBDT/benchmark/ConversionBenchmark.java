@@ -0,0 +1,119 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+package keel.Algorithms.Decision_Trees.FRBDT.benchmark;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import keel.Algorithms.Decision_Trees.FRBDT.core.Instances;
+import keel.Dataset.InstanceSet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the conversion of the instances read by KEEL into the Weka
+ * representation used by the classifier.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConversionBenchmark {
+
+  /** The number of instances */
+  @Param({"10000"})
+  public int rows;
+
+  /** The number of input attributes */
+  @Param({"8", "32"})
+  public int attributes;
+
+  /** The number of classes */
+  @Param({"4"})
+  public int classes;
+
+  /** The KEEL data file */
+  private File m_File;
+
+  /** The instances read by KEEL */
+  private InstanceSet m_Set;
+
+  /** The classifier that converts the instances */
+  private BenchmarkFRBDT m_Classifier;
+
+  /**
+   * Writes the data file and reads it with KEEL, which keeps the attributes
+   * in static state.
+   *
+   * @throws Exception if the file cannot be written or read
+   */
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+
+    m_File = File.createTempFile("frbdt-bench", ".dat");
+    SyntheticData.writeKeel(SyntheticData.generate(rows, attributes, classes, 0.2, 1),
+                            m_File);
+    m_Set = new InstanceSet();
+    m_Set.readSet(m_File.getPath(), true);
+    m_Classifier = new BenchmarkFRBDT();
+  }
+
+  /**
+   * Deletes the data file.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    m_File.delete();
+  }
+
+  /**
+   * Converts the instances.
+   *
+   * @return the converted instances
+   */
+  @Benchmark
+  public Instances instancesKEEL2Weka() {
+    return m_Classifier.convert(m_Set);
+  }
+}
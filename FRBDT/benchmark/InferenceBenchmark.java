@@ -0,0 +1,141 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+package keel.Algorithms.Decision_Trees.FRBDT.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import keel.Algorithms.Decision_Trees.FRBDT.core.Antd;
+import keel.Algorithms.Decision_Trees.FRBDT.core.Instance;
+import keel.Algorithms.Decision_Trees.FRBDT.core.Instances;
+import keel.Algorithms.Decision_Trees.FRBDT.core.LayerStatistics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the inference: the class distribution of one instance and
+ * the membership degree of one value to an antecedent.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InferenceBenchmark {
+
+  /** The number of instances */
+  @Param({"10000"})
+  public int rows;
+
+  /** The number of input attributes */
+  @Param({"8", "32"})
+  public int attributes;
+
+  /** The number of classes */
+  @Param({"4"})
+  public int classes;
+
+  /** The deviation of the instances around the class centers */
+  @Param({"0.1", "0.3"})
+  public double overlap;
+
+  /** The instances that are classified */
+  private Instance[] m_Instances;
+
+  /** The values of the first attribute */
+  private double[] m_Values;
+
+  /** The classifier, trained on the instances */
+  private BenchmarkFRBDT m_Classifier;
+
+  /** The antecedent of the first class on the first attribute */
+  private Antd m_Antd;
+
+  /** The next instance or value */
+  private int m_Next;
+
+  /**
+   * Generates the data and trains the classifier.
+   *
+   * @throws Exception if the classifier cannot be built
+   */
+  @Setup
+  public void setup() throws Exception {
+
+    Instances data = SyntheticData.generate(rows, attributes, classes, overlap, 1);
+    m_Classifier = new BenchmarkFRBDT();
+    m_Classifier.buildClassifier(data);
+    m_Instances = new Instance[data.numInstances()];
+    m_Values = new double[data.numInstances()];
+    for (int i = 0; i < m_Instances.length; i++) {
+      m_Instances[i] = data.instance(i);
+      m_Values[i] = m_Instances[i].value(0);
+    }
+    LayerStatistics stats = new LayerStatistics(data);
+    m_Antd = new Antd(stats.keyValues(0, 0), data.attribute(0), 0);
+  }
+
+  /**
+   * Classifies the next instance.
+   *
+   * @return the class distribution
+   * @throws Exception if the instance cannot be classified
+   */
+  @Benchmark
+  public double[] distributionForInstance() throws Exception {
+
+    Instance instance = m_Instances[m_Next];
+    m_Next = m_Next + 1 == m_Instances.length ? 0 : m_Next + 1;
+    return m_Classifier.distributionForInstance(instance);
+  }
+
+  /**
+   * Computes the membership degree of the next value.
+   *
+   * @return the membership degree
+   */
+  @Benchmark
+  public double getMembershipDgree() {
+
+    double x = m_Values[m_Next];
+    m_Next = m_Next + 1 == m_Values.length ? 0 : m_Next + 1;
+    return m_Antd.getMembershipDgree(x);
+  }
+}
@@ -0,0 +1,140 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+package keel.Algorithms.Decision_Trees.FRBDT.benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Random;
+
+import keel.Algorithms.Decision_Trees.FRBDT.core.AttributeWeka;
+import keel.Algorithms.Decision_Trees.FRBDT.core.FastVector;
+import keel.Algorithms.Decision_Trees.FRBDT.core.Instance;
+import keel.Algorithms.Decision_Trees.FRBDT.core.Instances;
+
+/**
+ * Generator of synthetic classification data for the benchmarks. Every
+ * class has a center on each attribute, drawn uniformly from [0, 1], and its
+ * instances scatter around it with a gaussian noise whose deviation is the
+ * overlap: the higher the overlap, the harder the classes are to tell apart
+ * and the more layers and antecedents the classifier needs.
+ */
+public class SyntheticData {
+
+  /**
+   * Generates a data set of numeric attributes and a nominal class, the
+   * last attribute.
+   *
+   * @param numInstances the number of instances
+   * @param numAttributes the number of input attributes
+   * @param numClasses the number of classes
+   * @param overlap the deviation of the instances around the class centers
+   * @param seed the seed of the random numbers
+   * @return the data set
+   */
+  public static Instances generate(int numInstances, int numAttributes,
+                                   int numClasses, double overlap, long seed) {
+
+    Random random = new Random(seed);
+    FastVector atts = new FastVector(numAttributes + 1);
+    for (int a = 0; a < numAttributes; a++)
+      atts.addElement(new AttributeWeka("a" + a));
+    FastVector labels = new FastVector(numClasses);
+    for (int c = 0; c < numClasses; c++)
+      labels.addElement("c" + c);
+    atts.addElement(new AttributeWeka("class", labels));
+
+    double[][] centers = new double[numClasses][numAttributes];
+    for (int c = 0; c < numClasses; c++)
+      for (int a = 0; a < numAttributes; a++)
+        centers[c][a] = random.nextDouble();
+
+    Instances data = new Instances("synthetic", atts, numInstances);
+    data.setClassIndex(numAttributes);
+    for (int i = 0; i < numInstances; i++) {
+      int c = random.nextInt(numClasses);
+      double[] values = new double[numAttributes + 1];
+      for (int a = 0; a < numAttributes; a++)
+        values[a] = centers[c][a] + overlap * random.nextGaussian();
+      values[numAttributes] = c;
+      data.add(new Instance(1.0, values));
+    }
+    return data;
+  }
+
+  /**
+   * Writes a data set generated by generate() as a KEEL data file.
+   *
+   * @param data the data set
+   * @param file the file
+   * @throws IOException if the file cannot be written
+   */
+  public static void writeKeel(Instances data, File file) throws IOException {
+
+    int numInputs = data.numAttributes() - 1;
+    PrintWriter out = new PrintWriter(new OutputStreamWriter(
+        new FileOutputStream(file), "UTF-8"));
+    try {
+      out.println("@relation " + data.relationName());
+      StringBuffer inputs = new StringBuffer();
+      for (int a = 0; a < numInputs; a++) {
+        double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < data.numInstances(); i++) {
+          min = Math.min(min, data.instance(i).value(a));
+          max = Math.max(max, data.instance(i).value(a));
+        }
+        out.println("@attribute " + data.attribute(a).name()
+                    + " real [" + min + ", " + max + "]");
+        inputs.append(a == 0 ? "" : ", ").append(data.attribute(a).name());
+      }
+      AttributeWeka classAtt = data.classAttribute();
+      StringBuffer labels = new StringBuffer();
+      for (int c = 0; c < classAtt.numValues(); c++)
+        labels.append(c == 0 ? "" : ", ").append(classAtt.value(c));
+      out.println("@attribute " + classAtt.name() + " {" + labels + "}");
+      out.println("@inputs " + inputs);
+      out.println("@outputs " + classAtt.name());
+      out.println("@data");
+      StringBuffer line = new StringBuffer();
+      for (int i = 0; i < data.numInstances(); i++) {
+        Instance inst = data.instance(i);
+        line.setLength(0);
+        for (int a = 0; a < numInputs; a++)
+          line.append(inst.value(a)).append(", ");
+        line.append(classAtt.value((int)inst.classValue()));
+        out.println(line);
+      }
+    } finally {
+      out.close();
+    }
+  }
+}
@@ -0,0 +1,161 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+package keel.Algorithms.Decision_Trees.FRBDT.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import keel.Algorithms.Decision_Trees.FRBDT.core.ColumnarInstances;
+import keel.Algorithms.Decision_Trees.FRBDT.core.Instances;
+import keel.Algorithms.Decision_Trees.FRBDT.core.LayerStatistics;
+import keel.Algorithms.Decision_Trees.FRBDT.core.RipperRule;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the training: growing one rule, growing one layer and
+ * building the whole classifier.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TrainingBenchmark {
+
+  /** The number of instances */
+  @Param({"1000", "10000"})
+  public int rows;
+
+  /** The number of input attributes */
+  @Param({"8", "32"})
+  public int attributes;
+
+  /** The number of classes */
+  @Param({"4"})
+  public int classes;
+
+  /** The deviation of the instances around the class centers */
+  @Param({"0.1", "0.3"})
+  public double overlap;
+
+  /** The maximum number of antecedents of a rule */
+  @Param({"5"})
+  public int maxAttUsed;
+
+  /** The data as generated */
+  private Instances m_Data;
+
+  /** The data in columns */
+  private ColumnarInstances m_Columns;
+
+  /** The statistics of the first layer */
+  private LayerStatistics m_Stats;
+
+  /** The classifier whose first layer is grown */
+  private BenchmarkFRBDT m_Classifier;
+
+  /**
+   * Generates the data.
+   *
+   * @throws Exception if the classifier cannot be set up
+   */
+  @Setup
+  public void setup() throws Exception {
+
+    m_Data = SyntheticData.generate(rows, attributes, classes, overlap, 1);
+    m_Columns = new ColumnarInstances(m_Data);
+    m_Stats = new LayerStatistics(m_Columns);
+    m_Classifier = newClassifier();
+  }
+
+  /**
+   * Creates a classifier with the parameters of the benchmark.
+   *
+   * @return the classifier
+   */
+  private BenchmarkFRBDT newClassifier() {
+
+    BenchmarkFRBDT classifier = new BenchmarkFRBDT();
+    classifier.m_maxAttUsed = maxAttUsed;
+    return classifier;
+  }
+
+  /**
+   * Grows the rule of the first class on the whole data.
+   *
+   * @return the rule
+   * @throws Exception if the rule cannot be grown
+   */
+  @Benchmark
+  public RipperRule grow() throws Exception {
+
+    RipperRule rule = new RipperRule();
+    rule.setConsequent(0);
+    rule.setMaxAttUsed(maxAttUsed);
+    rule.grow(m_Columns, m_Stats);
+    return rule;
+  }
+
+  /**
+   * Grows the first layer, statistics included.
+   *
+   * @return the number of instances left for the second layer
+   * @throws Exception if the layer cannot be grown
+   */
+  @Benchmark
+  public int rulesetForOneLayer() throws Exception {
+    return m_Classifier.oneLayer(m_Columns);
+  }
+
+  /**
+   * Builds the whole classifier from the generated data.
+   *
+   * @return the classifier
+   * @throws Exception if the classifier cannot be built
+   */
+  @Benchmark
+  public BenchmarkFRBDT buildClassifier() throws Exception {
+
+    BenchmarkFRBDT classifier = newClassifier();
+    classifier.buildClassifier(m_Data);
+    return classifier;
+  }
+}
@@ -0,0 +1,150 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+package keel.Algorithms.Decision_Trees.FRBDT.core;
+
+import java.io.Serializable;
+
+/**
+ * A growable list of antecedents, the typed replacement of FastVector for
+ * the antecedents of a rule. Besides appending, it can be truncated back to
+ * a previous size, which undoes the antecedents tried last without copying
+ * the list.
+ */
+public class AntdList implements Copyable, Serializable {
+
+  /** for serialization */
+  private static final long serialVersionUID = 5213607463526874318L;
+
+  /** The antecedents */
+  private Antd[] m_Antds;
+
+  /** The number of antecedents in the list */
+  private int m_Size;
+
+  /**
+   * Constructs an empty list.
+   */
+  public AntdList() {
+    this(4);
+  }
+
+  /**
+   * Constructs an empty list with the given capacity.
+   *
+   * @param capacity the initial capacity
+   */
+  public AntdList(int capacity) {
+    m_Antds = new Antd[Math.max(capacity, 1)];
+  }
+
+  /**
+   * Appends an antecedent, growing the list if needed.
+   *
+   * @param antd the antecedent
+   */
+  public void add(Antd antd) {
+
+    if (m_Size == m_Antds.length) {
+      Antd[] antds = new Antd[2 * m_Antds.length];
+      System.arraycopy(m_Antds, 0, antds, 0, m_Size);
+      m_Antds = antds;
+    }
+    m_Antds[m_Size++] = antd;
+  }
+
+  /**
+   * Returns the antecedent at a given position.
+   *
+   * @param index the position
+   * @return the antecedent
+   */
+  public final Antd get(int index) {
+    return m_Antds[index];
+  }
+
+  /**
+   * Returns the last antecedent.
+   *
+   * @return the last antecedent
+   */
+  public final Antd last() {
+    return m_Antds[m_Size - 1];
+  }
+
+  /**
+   * Returns the number of antecedents in the list.
+   *
+   * @return the number of antecedents
+   */
+  public final int size() {
+    return m_Size;
+  }
+
+  /**
+   * Drops the antecedents after the given size.
+   *
+   * @param size the new size, not larger than the current one
+   */
+  public void truncate(int size) {
+
+    if (size < 0 || size > m_Size)
+      throw new IllegalArgumentException("Cannot truncate " + m_Size + " antecedents to " + size);
+    for (int i = size; i < m_Size; i++)
+      m_Antds[i] = null;
+    m_Size = size;
+  }
+
+  /**
+   * Produces a shallow copy of the list.
+   *
+   * @return the copy, holding the same antecedents
+   */
+  public Object copy() {
+
+    AntdList copy = new AntdList(m_Size);
+    System.arraycopy(m_Antds, 0, copy.m_Antds, 0, m_Size);
+    copy.m_Size = m_Size;
+    return copy;
+  }
+
+  /**
+   * Produces a copy of the list holding copies of the antecedents.
+   *
+   * @return the copy
+   */
+  public AntdList copyElements() {
+
+    AntdList copy = new AntdList(m_Size);
+    for (int i = 0; i < m_Size; i++)
+      copy.m_Antds[i] = (Antd)m_Antds[i].copy();
+    copy.m_Size = m_Size;
+    return copy;
+  }
+}
@@ -0,0 +1,527 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+package keel.Algorithms.Decision_Trees.FRBDT.core;
+
+import java.io.Serializable;
+import java.util.Enumeration;
+
+/**
+ * Column-major set of instances. Each attribute is kept in its own
+ * primitive array, next to contiguous arrays with the class label and the
+ * weight of each instance, so that the rule growing loops scan memory
+ * sequentially instead of following one Instance object per row. The
+ * attribute information is taken from an (empty) set of Instances.
+ */
+public class ColumnarInstances implements Serializable {
+
+  /** for serialization */
+  static final long serialVersionUID = -1788513372916302742L;
+
+  /** The header: an empty set of instances with the attribute information */
+  protected Instances m_Header;
+
+  /** The values of each attribute, indexed by [attribute][instance] */
+  protected double[][] m_Columns;
+
+  /** The class label of each instance, -1 if missing */
+  protected int[] m_Classes;
+
+  /** The weight of each instance */
+  protected double[] m_Weights;
+
+  /** The number of instances */
+  protected int m_NumInstances;
+
+  /**
+   * Constructor creating an empty set with the header information of the
+   * given dataset.
+   *
+   * @param header the instances from which the header information is taken
+   * @param capacity the initial capacity of the set
+   */
+  public ColumnarInstances(Instances header, int capacity) {
+
+    if (header.classIndex() < 0) {
+      throw new UnassignedClassException("Class index is negative (not set)!");
+    }
+    if (capacity < 1)
+      capacity = 1;
+    m_Header = new Instances(header, 0);
+    m_Columns = new double[header.numAttributes()][capacity];
+    m_Classes = new int[capacity];
+    m_Weights = new double[capacity];
+    m_NumInstances = 0;
+  }
+
+  /**
+   * Constructor copying all the instances of the given set.
+   *
+   * @param data the instances to be copied
+   */
+  public ColumnarInstances(Instances data) {
+
+    this(data, data.numInstances());
+    for (int i = 0; i < data.numInstances(); i++) {
+      add(data.instance(i));
+    }
+  }
+
+  /**
+   * Constructor copying a subset of the instances of another set, sparse
+   * or not, into full columns.
+   *
+   * @param source the set from which the instances are copied
+   * @param rows the positions of the instances to be copied, in order
+   * @param numRows the number of positions of rows to be used
+   */
+  public ColumnarInstances(ColumnarInstances source, int[] rows, int numRows) {
+
+    m_Header = source.m_Header;
+    m_Columns = new double[source.numAttributes()][];
+    for (int a = 0; a < m_Columns.length; a++) {
+      double[] from = source.column(a);
+      double[] to = new double[Math.max(numRows, 1)];
+      for (int i = 0; i < numRows; i++)
+        to[i] = from[rows[i]];
+      m_Columns[a] = to;
+    }
+    m_Classes = new int[Math.max(numRows, 1)];
+    m_Weights = new double[Math.max(numRows, 1)];
+    for (int i = 0; i < numRows; i++) {
+      m_Classes[i] = source.m_Classes[rows[i]];
+      m_Weights[i] = source.m_Weights[rows[i]];
+    }
+    m_NumInstances = numRows;
+  }
+
+  /**
+   * Constructor copying all the instances of the given set, sparse or not,
+   * into full columns.
+   *
+   * @param source the instances to be copied
+   */
+  public ColumnarInstances(ColumnarInstances source) {
+
+    m_Header = source.m_Header;
+    int capacity = Math.max(source.m_NumInstances, 1);
+    m_Columns = new double[source.numAttributes()][];
+    for (int a = 0; a < m_Columns.length; a++) {
+      m_Columns[a] = new double[capacity];
+      System.arraycopy(source.column(a), 0, m_Columns[a], 0, source.m_NumInstances);
+    }
+    m_Classes = new int[capacity];
+    System.arraycopy(source.m_Classes, 0, m_Classes, 0, source.m_NumInstances);
+    m_Weights = new double[capacity];
+    System.arraycopy(source.m_Weights, 0, m_Weights, 0, source.m_NumInstances);
+    m_NumInstances = source.m_NumInstances;
+  }
+
+  /**
+   * Constructor wrapping already filled arrays, which must not be modified
+   * afterwards by the caller.
+   *
+   * @param header the instances from which the header information is taken
+   * @param columns the values of each attribute, indexed by [attribute][instance]
+   * @param classes the class label of each instance, -1 if missing
+   * @param weights the weight of each instance
+   * @param numInstances the number of instances held by the arrays
+   */
+  public ColumnarInstances(Instances header, double[][] columns, int[] classes,
+                           double[] weights, int numInstances) {
+
+    if (header.classIndex() < 0) {
+      throw new UnassignedClassException("Class index is negative (not set)!");
+    }
+    if (columns.length != header.numAttributes()) {
+      throw new IllegalArgumentException("One column per attribute is needed");
+    }
+    m_Header = new Instances(header, 0);
+    m_Columns = columns;
+    m_Classes = classes;
+    m_Weights = weights;
+    m_NumInstances = numInstances;
+  }
+
+  /**
+   * Constructor for subclasses that keep the values in another form. Does
+   * nothing.
+   */
+  protected ColumnarInstances() {
+  }
+
+  /**
+   * Returns a copy of all the instances of this set, in the same
+   * representation.
+   *
+   * @return the copy
+   */
+  public ColumnarInstances copy() {
+    return new ColumnarInstances(this);
+  }
+
+  /**
+   * Returns a copy of a subset of the instances of this set, in the same
+   * representation.
+   *
+   * @param rows the positions of the instances to be copied, in order
+   * @param numRows the number of positions of rows to be used
+   * @return the copy
+   */
+  public ColumnarInstances copy(int[] rows, int numRows) {
+    return new ColumnarInstances(this, rows, numRows);
+  }
+
+  /**
+   * Whether the values are kept as the non-zero entries of each attribute
+   * (see SparseColumnarInstances) rather than as full columns.
+   *
+   * @return false for this class
+   */
+  public boolean isSparse() {
+    return false;
+  }
+
+  /**
+   * Removes all the instances, keeping the capacity, so that the set can be
+   * filled again without allocating.
+   */
+  public void clear() {
+    m_NumInstances = 0;
+  }
+
+  /**
+   * Adds one instance to the end of the set, growing the columns if needed.
+   *
+   * @param values the values of all the attributes, class included
+   * @param weight the weight of the instance
+   */
+  public void add(double[] values, double weight) {
+
+    if (m_NumInstances == m_Classes.length)
+      setCapacity(2 * m_NumInstances);
+    int row = m_NumInstances;
+    for (int a = 0; a < m_Columns.length; a++)
+      m_Columns[a][row] = values[a];
+    double cls = values[m_Header.classIndex()];
+    m_Classes[row] = Instance.isMissingValue(cls) ? -1 : (int)cls;
+    m_Weights[row] = weight;
+    m_NumInstances++;
+  }
+
+  /**
+   * Adds a copy of the values of one instance to the end of the set.
+   *
+   * @param instance the instance to be added
+   */
+  public void add(Instance instance) {
+
+    if (m_NumInstances == m_Classes.length)
+      setCapacity(2 * m_NumInstances);
+    int row = m_NumInstances;
+    for (int a = 0; a < m_Columns.length; a++)
+      m_Columns[a][row] = instance.value(a);
+    m_Classes[row] = instance.classIsMissing() ? -1 : (int)instance.classValue();
+    m_Weights[row] = instance.weight();
+    m_NumInstances++;
+  }
+
+  /**
+   * Changes the capacity of the columns.
+   *
+   * @param capacity the new capacity, not less than the number of instances
+   */
+  protected void setCapacity(int capacity) {
+
+    if (capacity < 1)
+      capacity = 1;
+    for (int a = 0; a < m_Columns.length; a++) {
+      double[] column = new double[capacity];
+      System.arraycopy(m_Columns[a], 0, column, 0, m_NumInstances);
+      m_Columns[a] = column;
+    }
+    int[] classes = new int[capacity];
+    System.arraycopy(m_Classes, 0, classes, 0, m_NumInstances);
+    m_Classes = classes;
+    double[] weights = new double[capacity];
+    System.arraycopy(m_Weights, 0, weights, 0, m_NumInstances);
+    m_Weights = weights;
+  }
+
+  /**
+   * Decreases the capacity of the set so that it matches the number of
+   * instances in the set.
+   */
+  public void compactify() {
+
+    if (m_Classes.length > m_NumInstances)
+      setCapacity(m_NumInstances);
+  }
+
+  /**
+   * Removes all instances with a missing class value from the set,
+   * keeping the order of the rest.
+   */
+  public void deleteWithMissingClass() {
+
+    int kept = 0;
+    for (int i = 0; i < m_NumInstances; i++) {
+      if (m_Classes[i] < 0)
+        continue;
+      if (kept != i) {
+        for (int a = 0; a < m_Columns.length; a++)
+          m_Columns[a][kept] = m_Columns[a][i];
+        m_Classes[kept] = m_Classes[i];
+        m_Weights[kept] = m_Weights[i];
+      }
+      kept++;
+    }
+    m_NumInstances = kept;
+  }
+
+  /**
+   * Removes the instances rejected by a filter, moving the rest down in
+   * place and keeping their order. The filter is called once per instance,
+   * in order, while that instance is still at its original position.
+   *
+   * @param filter the filter
+   * @return the number of instances left
+   */
+  public int retainRows(RowFilter filter) {
+
+    int kept = 0;
+    for (int i = 0; i < m_NumInstances; i++) {
+      if (!filter.keep(i))
+        continue;
+      if (kept != i) {
+        for (int a = 0; a < m_Columns.length; a++)
+          m_Columns[a][kept] = m_Columns[a][i];
+        m_Classes[kept] = m_Classes[i];
+        m_Weights[kept] = m_Weights[i];
+      }
+      kept++;
+    }
+    m_NumInstances = kept;
+    return kept;
+  }
+
+  /**
+   * Returns the header, an empty set of instances with the attribute
+   * information of this set.
+   *
+   * @return the header
+   */
+  public Instances header() {
+    return m_Header;
+  }
+
+  /**
+   * Returns the values of one attribute. The array may be longer than the
+   * number of instances; it must not be modified. Sparse sets build it on
+   * each call, so their callers should rather read the non-zero values.
+   *
+   * @param att the index of the attribute
+   * @return the column of the attribute
+   */
+  public double[] column(int att) {
+    return m_Columns[att];
+  }
+
+  /**
+   * Returns the class labels of all the instances. The array may be longer
+   * than the number of instances; it must not be modified.
+   *
+   * @return the class labels, -1 for a missing class
+   */
+  public int[] classes() {
+    return m_Classes;
+  }
+
+  /**
+   * Returns the weights of all the instances. The array may be longer than
+   * the number of instances; it must not be modified.
+   *
+   * @return the weights
+   */
+  public double[] weights() {
+    return m_Weights;
+  }
+
+  /**
+   * Returns the value of an attribute of an instance.
+   *
+   * @param row the position of the instance
+   * @param att the index of the attribute
+   * @return the value
+   */
+  public double value(int row, int att) {
+    return m_Columns[att][row];
+  }
+
+  /**
+   * Returns the class label of an instance.
+   *
+   * @param row the position of the instance
+   * @return the class label, -1 if missing
+   */
+  public int classValue(int row) {
+    return m_Classes[row];
+  }
+
+  /**
+   * Returns the weight of an instance.
+   *
+   * @param row the position of the instance
+   * @return the weight
+   */
+  public double weight(int row) {
+    return m_Weights[row];
+  }
+
+  /**
+   * Computes the sum of all the instances' weights.
+   *
+   * @return the sum of the weights
+   */
+  public double sumOfWeights() {
+
+    double sum = 0;
+    for (int i = 0; i < m_NumInstances; i++)
+      sum += m_Weights[i];
+    return sum;
+  }
+
+  /**
+   * Builds an Instance with the values of the given row, with access to
+   * the header.
+   *
+   * @param row the position of the instance
+   * @return a new instance
+   */
+  public Instance instance(int row) {
+
+    double[] values = new double[m_Columns.length];
+    for (int a = 0; a < values.length; a++)
+      values[a] = m_Columns[a][row];
+    Instance instance = new Instance(m_Weights[row], values);
+    instance.setDataset(m_Header);
+    return instance;
+  }
+
+  /**
+   * Copies all the instances into a row-major set of Instances.
+   *
+   * @return the new set of instances
+   */
+  public Instances toInstances() {
+
+    Instances data = new Instances(m_Header, m_NumInstances);
+    for (int i = 0; i < m_NumInstances; i++)
+      data.add(instance(i));
+    return data;
+  }
+
+  /**
+   * Returns the number of instances
+   *
+   * @return the number of instances
+   */
+  public int numInstances() {
+    return m_NumInstances;
+  }
+
+  /**
+   * Returns the number of attributes, class included
+   *
+   * @return the number of attributes, class included
+   */
+  public int numAttributes() {
+    return m_Header.numAttributes();
+  }
+
+  /**
+   * Returns the index of the class attribute
+   *
+   * @return the index of the class attribute
+   */
+  public int classIndex() {
+    return m_Header.classIndex();
+  }
+
+  /**
+   * Returns the number of class labels
+   *
+   * @return the number of class labels
+   */
+  public int numClasses() {
+    return m_Header.numClasses();
+  }
+
+  /**
+   * Returns the class attribute
+   *
+   * @return the class attribute
+   */
+  public AttributeWeka classAttribute() {
+    return m_Header.classAttribute();
+  }
+
+  /**
+   * Returns an attribute.
+   *
+   * @param index the attribute's index
+   * @return the attribute
+   */
+  public AttributeWeka attribute(int index) {
+    return m_Header.attribute(index);
+  }
+
+  /**
+   * Returns an enumeration of all the attributes but the class.
+   *
+   * @return enumeration of the attributes
+   */
+  public Enumeration enumerateAttributes() {
+    return m_Header.enumerateAttributes();
+  }
+
+  /**
+   * Selects the instances kept by retainRows().
+   */
+  public interface RowFilter {
+
+    /**
+     * Whether an instance is kept.
+     *
+     * @param row the index of the instance
+     * @return true if the instance is kept
+     */
+    boolean keep(int row);
+  }
+}
@@ -0,0 +1,513 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+package keel.Algorithms.Decision_Trees.FRBDT.core;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A finished layered ruleset flattened into primitive arrays for
+ * inference. Each antecedent is stored as the index of its attribute and
+ * the four key values of its trapezoid, the antecedents of each rule are
+ * contiguous, and so are the rules of each layer. Classifying an instance
+ * evaluates every membership degree once and allocates nothing.
+ */
+public class CompiledRuleset implements Serializable {
+
+  /** for serialization */
+  static final long serialVersionUID = 2870960471207424630L;
+
+  /** The number of classes */
+  protected int m_NumClasses;
+
+  /** The first rule of each layer, plus the end of the last one */
+  protected int[] m_LayerStart;
+
+  /** The first antecedent of each rule, plus the end of the last one */
+  protected int[] m_AntdStart;
+
+  /** The class predicted by each rule */
+  protected int[] m_Consequents;
+
+  /** The membership threshold of each rule */
+  protected double[] m_Thresholds;
+
+  /** The attribute index of each antecedent */
+  protected int[] m_Attributes;
+
+  /** The four key values of each antecedent, one after the other */
+  protected double[] m_KeyValues;
+
+  /** The number of instances scored together by a batch task */
+  public static final int BATCH_BLOCK_SIZE = 4096;
+
+  /**
+   * Constructor. Flattens a layered ruleset; the rules without
+   * antecedents are left out because they never fire.
+   *
+   * @param ruleset the layers of rules
+   * @param numClasses the number of classes
+   */
+  public CompiledRuleset(LayerList ruleset, int numClasses) {
+
+    m_NumClasses = numClasses;
+    int numRules = 0, numAntds = 0;
+    for (int i = 0; i < ruleset.size(); i++) {
+      RuleList layerRules = ruleset.get(i);
+      for (int j = 0; j < layerRules.size(); j++) {
+        RipperRule rule = layerRules.get(j);
+        if (rule.hasAntds()) {
+          numRules++;
+          numAntds += rule.m_Antds.size();
+        }
+      }
+    }
+
+    m_LayerStart = new int[ruleset.size() + 1];
+    m_AntdStart = new int[numRules + 1];
+    m_Consequents = new int[numRules];
+    m_Thresholds = new double[numRules];
+    m_Attributes = new int[numAntds];
+    m_KeyValues = new double[4 * numAntds];
+    int r = 0, a = 0;
+    for (int i = 0; i < ruleset.size(); i++) {
+      m_LayerStart[i] = r;
+      RuleList layerRules = ruleset.get(i);
+      for (int j = 0; j < layerRules.size(); j++) {
+        RipperRule rule = layerRules.get(j);
+        if (!rule.hasAntds())
+          continue;
+        m_AntdStart[r] = a;
+        m_Consequents[r] = (int)rule.getConsequent();
+        m_Thresholds[r] = rule.getShreshold();
+        for (int k = 0; k < rule.m_Antds.size(); k++) {
+          Antd antd = rule.m_Antds.get(k);
+          m_Attributes[a] = antd.getAttr().index();
+          System.arraycopy(antd.getkeyvalues(), 0, m_KeyValues, 4 * a, 4);
+          a++;
+        }
+        r++;
+      }
+    }
+    m_LayerStart[ruleset.size()] = r;
+    m_AntdStart[numRules] = a;
+  }
+
+  /**
+   * Constructor from the arrays of a ruleset already flattened, as read
+   * back by ModelFile. The arrays are used as they are.
+   *
+   * @param numClasses the number of classes
+   * @param layerStart the first rule of each layer, plus the end of the last one
+   * @param antdStart the first antecedent of each rule, plus the end of the last one
+   * @param consequents the class predicted by each rule
+   * @param thresholds the membership threshold of each rule
+   * @param attributes the attribute index of each antecedent
+   * @param keyValues the four key values of each antecedent
+   */
+  CompiledRuleset(int numClasses, int[] layerStart, int[] antdStart, int[] consequents,
+                  double[] thresholds, int[] attributes, double[] keyValues) {
+
+    m_NumClasses = numClasses;
+    m_LayerStart = layerStart;
+    m_AntdStart = antdStart;
+    m_Consequents = consequents;
+    m_Thresholds = thresholds;
+    m_Attributes = attributes;
+    m_KeyValues = keyValues;
+  }
+
+  /**
+   * Computes the membership degree of a value to a trapezoid, exactly as
+   * Antd.getMembershipDgree does.
+   *
+   * @param x the value
+   * @param k the array holding the key values
+   * @param o the position of the first key value in k
+   * @return the membership degree
+   */
+  static double membership(double x, double[] k, int o) {
+
+    double k0 = k[o], k1 = k[o + 1], k2 = k[o + 2], k3 = k[o + 3];
+    if (x > k0 && x < k1) {
+      return (x - k0) / (k1 - k0);
+    } else if (x >= k1 && x <= k2) {
+      return 1;
+    } else if (x >= k2 && x <= k3) {
+      return (k3 - x) / (k3 - k2);
+    } else {
+      return 0;
+    }
+  }
+
+  /**
+   * Computes the average membership degree of a feature vector to a rule.
+   *
+   * @param values the attribute values, indexed by attribute
+   * @param r the rule
+   * @return the average membership degree
+   */
+  private double averageMembership(double[] values, int r) {
+
+    double aveMemDgre = 0;
+    int from = m_AntdStart[r], to = m_AntdStart[r + 1];
+    for (int a = from; a < to; a++)
+      aveMemDgre += membership(values[m_Attributes[a]], m_KeyValues, 4 * a);
+    return aveMemDgre / (to - from);
+  }
+
+  /**
+   * Computes the average membership degree of an instance to a rule.
+   *
+   * @param instance the instance
+   * @param r the rule
+   * @return the average membership degree
+   */
+  private double averageMembership(Instance instance, int r) {
+
+    double aveMemDgre = 0;
+    int from = m_AntdStart[r], to = m_AntdStart[r + 1];
+    for (int a = from; a < to; a++)
+      aveMemDgre += membership(instance.value(m_Attributes[a]), m_KeyValues, 4 * a);
+    return aveMemDgre / (to - from);
+  }
+
+  /**
+   * Computes the class distribution of a feature vector. The layers are
+   * tried in order: in each of them every rule that covers the vector sets
+   * the degree of its class, and the first layer giving some non-zero
+   * degree decides. In the last layer the rules set their degree even if
+   * they do not reach their threshold.
+   *
+   * @param values the attribute values, indexed by attribute
+   * @param dist the array that receives the distribution, of length at
+   * least the number of classes
+   * @return dist
+   */
+  public double[] distributionForInstance(double[] values, double[] dist) {
+
+    int numLayers = m_LayerStart.length - 1;
+    for (int c = 0; c < m_NumClasses; c++)
+      dist[c] = 0;
+    for (int i = 0; i < numLayers; i++) {
+      boolean lastLayer = (i == numLayers - 1);
+      for (int r = m_LayerStart[i]; r < m_LayerStart[i + 1]; r++) {
+        double degree = averageMembership(values, r);
+        if (!(degree < m_Thresholds[r]) || lastLayer)
+          dist[m_Consequents[r]] = degree;
+      }
+      if (sum(dist) != 0)
+        break;
+    }
+    return dist;
+  }
+
+  /**
+   * Computes the class distribution of an instance, as
+   * distributionForInstance(double[], double[]) does.
+   *
+   * @param instance the instance
+   * @param dist the array that receives the distribution, of length at
+   * least the number of classes
+   * @return dist
+   */
+  public double[] distributionForInstance(Instance instance, double[] dist) {
+
+    int numLayers = m_LayerStart.length - 1;
+    for (int c = 0; c < m_NumClasses; c++)
+      dist[c] = 0;
+    for (int i = 0; i < numLayers; i++) {
+      boolean lastLayer = (i == numLayers - 1);
+      for (int r = m_LayerStart[i]; r < m_LayerStart[i + 1]; r++) {
+        double degree = averageMembership(instance, r);
+        if (!(degree < m_Thresholds[r]) || lastLayer)
+          dist[m_Consequents[r]] = degree;
+      }
+      if (sum(dist) != 0)
+        break;
+    }
+    return dist;
+  }
+
+  /**
+   * Computes the class distributions of a block of instances column by
+   * column. The result is the same as calling distributionForInstance on
+   * each of them.
+   *
+   * @param data the instances
+   * @param from the first instance of the block
+   * @param to the end of the block (exclusive)
+   * @param dist the distributions of all the instances of data, one after
+   * the other, m_NumClasses values each
+   */
+  public void distributionForBlock(ColumnarInstances data, int from, int to, double[] dist) {
+
+    distributionForRows(data, null, from, to, 0, dist);
+  }
+
+  /**
+   * Computes the class distributions of some rows of a set, given by their
+   * positions, without copying them. The rows are scored in blocks of
+   * BATCH_BLOCK_SIZE as distributionForBlock does.
+   *
+   * @param data the instances
+   * @param rows the positions of the rows in data
+   * @param from the first position of rows to score
+   * @param to the end of the positions to score (exclusive)
+   * @return the distributions of the rows rows[from], ..., rows[to - 1],
+   * one after the other, numClasses() values each
+   */
+  public double[] distributionForRows(ColumnarInstances data, int[] rows, int from, int to) {
+
+    double[] dist = new double[(to - from) * m_NumClasses];
+    for (int start = from; start < to; start += BATCH_BLOCK_SIZE)
+      distributionForRows(data, rows, start, Math.min(start + BATCH_BLOCK_SIZE, to), from, dist);
+    return dist;
+  }
+
+  /**
+   * Computes the class distributions of a block of rows column by column:
+   * each antecedent is evaluated over the whole column of the rows still
+   * undecided, and the rows are dropped as soon as a layer gives them some
+   * non-zero degree. The result is the same as calling
+   * distributionForInstance on each of them.
+   *
+   * @param data the instances
+   * @param rows the positions of the rows in data, or null if the
+   * positions are the rows themselves
+   * @param from the first position of the block
+   * @param to the end of the block (exclusive)
+   * @param base the position whose distribution goes first in dist
+   * @param dist the distributions, m_NumClasses values for each position
+   * from base on
+   */
+  private void distributionForRows(ColumnarInstances data, int[] rows, int from, int to,
+                                   int base, double[] dist) {
+
+    int size = to - from;
+    int[] pending = new int[size];
+    int[] pendingRows = new int[size];
+    double[] degrees = new double[size];
+    int numPending = size;
+    for (int p = 0; p < size; p++) {
+      pending[p] = (from - base + p) * m_NumClasses;
+      pendingRows[p] = (rows == null) ? from + p : rows[from + p];
+    }
+    Arrays.fill(dist, (from - base) * m_NumClasses, (to - base) * m_NumClasses, 0);
+
+    int numLayers = m_LayerStart.length - 1;
+    for (int i = 0; i < numLayers && numPending > 0; i++) {
+      boolean lastLayer = (i == numLayers - 1);
+      for (int r = m_LayerStart[i]; r < m_LayerStart[i + 1]; r++) {
+        int start = m_AntdStart[r], end = m_AntdStart[r + 1];
+        for (int p = 0; p < numPending; p++)
+          degrees[p] = 0;
+        for (int a = start; a < end; a++) {
+          if (data.isSparse()) {
+            /* sparse sets look the values up instead of building the column */
+            for (int p = 0; p < numPending; p++)
+              degrees[p] += membership(data.value(pendingRows[p], m_Attributes[a]),
+                                       m_KeyValues, 4 * a);
+            continue;
+          }
+          double[] column = data.column(m_Attributes[a]);
+          for (int p = 0; p < numPending; p++)
+            degrees[p] += membership(column[pendingRows[p]], m_KeyValues, 4 * a);
+        }
+        int consequent = m_Consequents[r];
+        double threshold = m_Thresholds[r];
+        for (int p = 0; p < numPending; p++) {
+          double degree = degrees[p] / (end - start);
+          if (!(degree < threshold) || lastLayer)
+            dist[pending[p] + consequent] = degree;
+        }
+      }
+      /* keep only the rows this layer left undecided */
+      int kept = 0;
+      for (int p = 0; p < numPending; p++) {
+        double sum = 0;
+        int o = pending[p];
+        for (int c = 0; c < m_NumClasses; c++)
+          sum += dist[o + c];
+        if (sum == 0) {
+          pending[kept] = pending[p];
+          pendingRows[kept++] = pendingRows[p];
+        }
+      }
+      numPending = kept;
+    }
+  }
+
+  /**
+   * Computes the class distributions of all the instances of a set,
+   * splitting them in blocks among the threads of a pool.
+   *
+   * @param data the instances
+   * @param pool the pool, or null to score the blocks serially
+   * @return the distributions of the instances, one after the other,
+   * numClasses() values each
+   */
+  public double[] distributionForBatch(ColumnarInstances data, ForkJoinPool pool) {
+
+    double[] dist = new double[data.numInstances() * m_NumClasses];
+    if (pool == null || data.numInstances() <= BATCH_BLOCK_SIZE) {
+      for (int from = 0; from < data.numInstances(); from += BATCH_BLOCK_SIZE)
+        distributionForBlock(data, from,
+                             Math.min(from + BATCH_BLOCK_SIZE, data.numInstances()), dist);
+    } else {
+      pool.invoke(new BatchTask(data, 0, data.numInstances(), dist));
+    }
+    return dist;
+  }
+
+  /**
+   * Classifies all the instances of a set, splitting them in blocks among
+   * the threads of a pool.
+   *
+   * @param data the instances
+   * @param pool the pool, or null to score the blocks serially
+   * @return the predicted class of each instance, -1 where no rule gives
+   * any positive degree
+   */
+  public int[] classifyBatch(ColumnarInstances data, ForkJoinPool pool) {
+
+    double[] dist = distributionForBatch(data, pool);
+    int[] predictions = new int[data.numInstances()];
+    for (int i = 0; i < predictions.length; i++)
+      predictions[i] = classify(dist, i * m_NumClasses);
+    return predictions;
+  }
+
+  /**
+   * Returns the class with the largest degree, the first one on ties, as
+   * Classifier.classifyInstance does.
+   *
+   * @param dist the array holding the distribution
+   * @param o the position of the first class degree in dist
+   * @return the class, or -1 if no degree is positive
+   */
+  public int classify(double[] dist, int o) {
+
+    double max = 0;
+    int maxIndex = 0;
+    for (int c = 0; c < m_NumClasses; c++) {
+      if (dist[o + c] > max) {
+        maxIndex = c;
+        max = dist[o + c];
+      }
+    }
+    return (max > 0) ? maxIndex : -1;
+  }
+
+  /**
+   * Scores a range of instances, splitting it in halves down to blocks of
+   * BATCH_BLOCK_SIZE instances
+   */
+  private class BatchTask extends RecursiveAction {
+
+    /** for serialization */
+    static final long serialVersionUID = 6206785391604470375L;
+
+    private ColumnarInstances data;
+    private int from, to;
+    private double[] dist;
+
+    BatchTask(ColumnarInstances data, int from, int to, double[] dist) {
+      this.data = data;
+      this.from = from;
+      this.to = to;
+      this.dist = dist;
+    }
+
+    protected void compute() {
+      if (to - from > BATCH_BLOCK_SIZE) {
+        int mid = from + ((to - from) / BATCH_BLOCK_SIZE / 2) * BATCH_BLOCK_SIZE;
+        if (mid == from)
+          mid += BATCH_BLOCK_SIZE;
+        invokeAll(new BatchTask(data, from, mid, dist),
+                  new BatchTask(data, mid, to, dist));
+      } else {
+        distributionForBlock(data, from, to, dist);
+      }
+    }
+  }
+
+  /**
+   * Sums the class degrees in the same order as Utils.sum.
+   *
+   * @param dist the class degrees
+   * @return the sum of the first m_NumClasses degrees
+   */
+  private double sum(double[] dist) {
+
+    double sum = 0;
+    for (int c = 0; c < m_NumClasses; c++)
+      sum += dist[c];
+    return sum;
+  }
+
+  /**
+   * Returns the number of classes
+   *
+   * @return the number of classes
+   */
+  public int numClasses() {
+    return m_NumClasses;
+  }
+
+  /**
+   * Returns the number of layers
+   *
+   * @return the number of layers
+   */
+  public int numLayers() {
+    return m_LayerStart.length - 1;
+  }
+
+  /**
+   * Returns the number of rules with antecedents
+   *
+   * @return the number of rules
+   */
+  public int numRules() {
+    return m_Consequents.length;
+  }
+
+  /**
+   * Returns the number of antecedents of all the rules
+   *
+   * @return the number of antecedents
+   */
+  public int numAntds() {
+    return m_Attributes.length;
+  }
+}
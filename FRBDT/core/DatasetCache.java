@@ -0,0 +1,464 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+package keel.Algorithms.Decision_Trees.FRBDT.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Binary columnar cache of a parsed data file. It holds the attribute
+ * information, the header lines of the source file and the primitive
+ * columns. It is read back through read-only mappings of the file, and
+ * the columns are then copied from them into heap arrays: the mappings
+ * save the parsing and the stream buffers, not the copy, and the data is
+ * not kept memory-mapped. The size and modification time of the source
+ * file are stored in the cache, which is ignored as soon as they change.
+ *
+ * <p>Layout (big endian): magic, version, source size and modification
+ * time, relation name, header text, class index, attributes (name, type,
+ * nominal values), number of instances, and then, each one aligned to 8
+ * bytes, the column of every attribute, the class labels and the weights.</p>
+ *
+ * <p>Sparse data is cached with the SPARSE flag set in the version, and
+ * the columns replaced by the number of non-zero values of every
+ * attribute followed, for each attribute, by its rows and its values. A
+ * cache is only read back in the representation it was written in.</p>
+ */
+public class DatasetCache {
+
+  /** The first bytes of a cache file, "FRBC" */
+  public static final int MAGIC = 0x46524243;
+
+  /** The version of the layout */
+  public static final int VERSION = 1;
+
+  /** The flag set in the version of a cache of sparse data */
+  public static final int SPARSE = 0x100;
+
+  /** The extension added to the source file name */
+  public static final String EXTENSION = ".frbdt-cache";
+
+  /** Type of a numeric attribute */
+  private static final byte NUMERIC = 0;
+
+  /** Type of a nominal attribute */
+  private static final byte NOMINAL = 1;
+
+  /** The size of the buffer used to write the columns */
+  private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+  /** The source file */
+  private File m_Source;
+
+  /** The cache file */
+  private File m_Cache;
+
+  /** The header lines of the source file, once the cache is read */
+  private String m_HeaderText;
+
+  /**
+   * Constructor.
+   *
+   * @param sourceFile the name of the data file
+   * @param cacheDirectory the directory of the cache, or null to keep it
+   * next to the data file
+   */
+  public DatasetCache(String sourceFile, String cacheDirectory) {
+
+    m_Source = new File(sourceFile);
+    String name = m_Source.getName() + EXTENSION;
+    if (cacheDirectory == null)
+      m_Cache = new File(m_Source.getAbsoluteFile().getParentFile(), name);
+    else
+      m_Cache = new File(cacheDirectory, name);
+  }
+
+  /**
+   * Returns the cache file
+   *
+   * @return the cache file
+   */
+  public File cacheFile() {
+    return m_Cache;
+  }
+
+  /**
+   * Returns the header lines of the source file, available after a
+   * successful read()
+   *
+   * @return the header lines
+   */
+  public String headerText() {
+    return m_HeaderText;
+  }
+
+  /**
+   * Reads the cached data if the cache exists and is up to date.
+   *
+   * @param known the attributes the data must have, or null
+   * @param sparse whether the data is wanted as SparseColumnarInstances
+   * @return the data, or null if the cache is missing, stale, truncated,
+   * written by another version or in the other representation, or does
+   * not match the known attributes
+   * @throws IOException if the cache cannot be read
+   */
+  public ColumnarInstances read(Instances known, boolean sparse) throws IOException {
+
+    if (!m_Cache.isFile() || !m_Source.isFile())
+      return null;
+    RandomAccessFile file = new RandomAccessFile(m_Cache, "r");
+    try {
+      FileChannel channel = file.getChannel();
+      long size = channel.size();
+      MappedByteBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                                          Math.min(size, Integer.MAX_VALUE));
+      if (size < 32 || head.getInt() != MAGIC
+          || head.getInt() != (sparse ? VERSION | SPARSE : VERSION))
+        return null;
+      if (head.getLong() != m_Source.length() || head.getLong() != m_Source.lastModified())
+        return null;
+
+      String relation = getString(head);
+      String headerText = getString(head);
+      int classIndex = head.getInt();
+      int numAttributes = head.getInt();
+      FastVector atts = new FastVector(numAttributes);
+      for (int a = 0; a < numAttributes; a++) {
+        String name = getString(head);
+        if (head.get() == NOMINAL) {
+          int numValues = head.getInt();
+          FastVector values = new FastVector(numValues);
+          for (int v = 0; v < numValues; v++)
+            values.addElement(getString(head));
+          atts.addElement(new AttributeWeka(name, values, a));
+        } else {
+          atts.addElement(new AttributeWeka(name, a));
+        }
+      }
+      Instances header = new Instances(relation, atts, 0);
+      header.setClassIndex(classIndex);
+      if (known != null && !known.equalHeaders(header))
+        return null;
+      int numInstances = head.getInt();
+
+      long offset = align(head.position());
+      double[][] columns = null;
+      int[][] rows = null;
+      double[][] values = null;
+      int[] sizes = null;
+      if (sparse) {
+        if (size < align(offset + 4L * numAttributes))
+          return null;
+        sizes = new int[numAttributes];
+        mapInts(channel, offset, numAttributes).get(sizes);
+        offset = align(offset + 4L * numAttributes);
+        long entries = 0;
+        for (int a = 0; a < numAttributes; a++) {
+          if (sizes[a] < 0 || sizes[a] > numInstances)
+            return null;
+          entries += align(4L * sizes[a]) + 8L * sizes[a];
+        }
+        if (size < offset + entries + align(4L * numInstances) + 8L * numInstances)
+          return null;
+        rows = new int[numAttributes][];
+        values = new double[numAttributes][];
+        for (int a = 0; a < numAttributes; a++) {
+          rows[a] = new int[Math.max(sizes[a], 1)];
+          mapInts(channel, offset, sizes[a]).get(rows[a], 0, sizes[a]);
+          offset = align(offset + 4L * sizes[a]);
+          values[a] = new double[Math.max(sizes[a], 1)];
+          mapDoubles(channel, offset, sizes[a]).get(values[a], 0, sizes[a]);
+          offset += 8L * sizes[a];
+        }
+      } else {
+        if (size < offset + (long)numInstances * (8L * numAttributes + 12))
+          return null;
+        columns = new double[numAttributes][];
+        for (int a = 0; a < numAttributes; a++) {
+          columns[a] = new double[Math.max(numInstances, 1)];
+          mapDoubles(channel, offset, numInstances).get(columns[a], 0, numInstances);
+          offset += 8L * numInstances;
+        }
+      }
+      int[] classes = new int[Math.max(numInstances, 1)];
+      mapInts(channel, offset, numInstances).get(classes, 0, numInstances);
+      offset = align(offset + 4L * numInstances);
+      double[] weights = new double[Math.max(numInstances, 1)];
+      mapDoubles(channel, offset, numInstances).get(weights, 0, numInstances);
+
+      m_HeaderText = headerText;
+      if (sparse)
+        return new SparseColumnarInstances(known != null ? known : header, rows, values,
+                                           sizes, classes, weights, numInstances);
+      return new ColumnarInstances(known != null ? known : header,
+                                   columns, classes, weights, numInstances);
+    } catch (BufferUnderflowException e) {
+      return null;
+    } catch (NegativeArraySizeException e) {
+      return null;
+    } finally {
+      file.close();
+    }
+  }
+
+  /**
+   * Writes the data into the cache, through a temporary file that replaces
+   * the cache only once it is complete. Sparse data keeps its non-zero
+   * values only.
+   *
+   * @param data the data read from the source file
+   * @param headerText the header lines of the source file
+   * @throws IOException if the cache cannot be written
+   */
+  public void write(ColumnarInstances data, String headerText) throws IOException {
+
+    File tmp = new File(m_Cache.getPath() + ".tmp");
+    RandomAccessFile file = new RandomAccessFile(tmp, "rw");
+    try {
+      file.setLength(0);
+      FileChannel channel = file.getChannel();
+      int numAttributes = data.numAttributes();
+      int numInstances = data.numInstances();
+
+      ByteBuffer head = ByteBuffer.allocate(headerSize(data, headerText));
+      head.putInt(MAGIC);
+      head.putInt(data.isSparse() ? VERSION | SPARSE : VERSION);
+      head.putLong(m_Source.length());
+      head.putLong(m_Source.lastModified());
+      putString(head, data.header().relationName());
+      putString(head, headerText == null ? "" : headerText);
+      head.putInt(data.classIndex());
+      head.putInt(numAttributes);
+      for (int a = 0; a < numAttributes; a++) {
+        AttributeWeka att = data.attribute(a);
+        putString(head, att.name());
+        if (att.isNominal()) {
+          head.put(NOMINAL);
+          head.putInt(att.numValues());
+          for (int v = 0; v < att.numValues(); v++)
+            putString(head, att.value(v));
+        } else {
+          head.put(NUMERIC);
+        }
+      }
+      head.putInt(numInstances);
+      while (head.position() % 8 != 0)
+        head.put((byte)0);
+      head.flip();
+      writeFully(channel, head);
+
+      ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+      if (data.isSparse()) {
+        SparseColumnarInstances sparse = (SparseColumnarInstances)data;
+        int[] sizes = new int[numAttributes];
+        for (int a = 0; a < numAttributes; a++)
+          sizes[a] = sparse.numNonZero(a);
+        writeInts(channel, buffer, sizes, numAttributes);
+        for (int a = 0; a < numAttributes; a++) {
+          writeInts(channel, buffer, sparse.nonZeroRows(a), sizes[a]);
+          writeDoubles(channel, buffer, sparse.nonZeroValues(a), sizes[a]);
+        }
+      } else {
+        for (int a = 0; a < numAttributes; a++)
+          writeDoubles(channel, buffer, data.column(a), numInstances);
+      }
+      writeInts(channel, buffer, data.classes(), numInstances);
+      writeDoubles(channel, buffer, data.weights(), numInstances);
+      channel.force(false);
+    } finally {
+      file.close();
+    }
+    if (m_Cache.exists() && !m_Cache.delete())
+      throw new IOException("Cannot replace " + m_Cache);
+    if (!tmp.renameTo(m_Cache))
+      throw new IOException("Cannot rename " + tmp + " to " + m_Cache);
+  }
+
+  /**
+   * Computes the size of the part of the cache that precedes the columns.
+   *
+   * @param data the data
+   * @param headerText the header lines of the source file
+   * @return the size in bytes, a multiple of 8
+   * @throws IOException if a name cannot be encoded
+   */
+  private static int headerSize(ColumnarInstances data, String headerText) throws IOException {
+
+    long size = 4 + 4 + 8 + 8 + 4 + 4 + 4;
+    size += 4 + data.header().relationName().getBytes("UTF-8").length;
+    size += 4 + (headerText == null ? 0 : headerText.getBytes("UTF-8").length);
+    for (int a = 0; a < data.numAttributes(); a++) {
+      AttributeWeka att = data.attribute(a);
+      size += 4 + att.name().getBytes("UTF-8").length + 1;
+      if (att.isNominal()) {
+        size += 4;
+        for (int v = 0; v < att.numValues(); v++)
+          size += 4 + att.value(v).getBytes("UTF-8").length;
+      }
+    }
+    return (int)align(size);
+  }
+
+  /**
+   * Maps a region of doubles of the cache.
+   *
+   * @param channel the channel of the cache
+   * @param offset the position of the first double
+   * @param count the number of doubles
+   * @return the doubles
+   * @throws IOException if the region cannot be mapped
+   */
+  private static DoubleBuffer mapDoubles(FileChannel channel, long offset, int count)
+  throws IOException {
+    return channel.map(FileChannel.MapMode.READ_ONLY, offset, 8L * count).asDoubleBuffer();
+  }
+
+  /**
+   * Maps a region of ints of the cache.
+   *
+   * @param channel the channel of the cache
+   * @param offset the position of the first int
+   * @param count the number of ints
+   * @return the ints
+   * @throws IOException if the region cannot be mapped
+   */
+  private static IntBuffer mapInts(FileChannel channel, long offset, int count)
+  throws IOException {
+    return channel.map(FileChannel.MapMode.READ_ONLY, offset, 4L * count).asIntBuffer();
+  }
+
+  /**
+   * Writes the first values of an array of ints, followed by the padding
+   * that aligns the next value to 8 bytes.
+   *
+   * @param channel the channel of the cache
+   * @param buffer the buffer used to write
+   * @param values the array
+   * @param count the number of values to be written
+   * @throws IOException if the values cannot be written
+   */
+  private static void writeInts(FileChannel channel, ByteBuffer buffer,
+                                int[] values, int count) throws IOException {
+
+    for (int from = 0; from < count; ) {
+      buffer.clear();
+      int n = Math.min(count - from, WRITE_BUFFER_SIZE / 4);
+      buffer.asIntBuffer().put(values, from, n);
+      buffer.limit(4 * n);
+      writeFully(channel, buffer);
+      from += n;
+    }
+    if ((4L * count) % 8 != 0) {
+      buffer.clear();
+      buffer.putInt(0);
+      buffer.flip();
+      writeFully(channel, buffer);
+    }
+  }
+
+  /**
+   * Writes the first values of an array of doubles.
+   *
+   * @param channel the channel of the cache
+   * @param buffer the buffer used to write
+   * @param values the array
+   * @param count the number of values to be written
+   * @throws IOException if the values cannot be written
+   */
+  private static void writeDoubles(FileChannel channel, ByteBuffer buffer,
+                                   double[] values, int count) throws IOException {
+
+    for (int from = 0; from < count; ) {
+      buffer.clear();
+      int n = Math.min(count - from, WRITE_BUFFER_SIZE / 8);
+      buffer.asDoubleBuffer().put(values, from, n);
+      buffer.limit(8 * n);
+      writeFully(channel, buffer);
+      from += n;
+    }
+  }
+
+  /**
+   * Writes all the remaining bytes of a buffer.
+   *
+   * @param channel the channel
+   * @param buffer the buffer
+   * @throws IOException if the bytes cannot be written
+   */
+  private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining())
+      channel.write(buffer);
+  }
+
+  /**
+   * Writes a string as its length and its UTF-8 bytes.
+   *
+   * @param buffer the buffer
+   * @param s the string
+   * @throws IOException if the string cannot be encoded
+   */
+  private static void putString(ByteBuffer buffer, String s) throws IOException {
+
+    byte[] bytes = s.getBytes("UTF-8");
+    buffer.putInt(bytes.length);
+    buffer.put(bytes);
+  }
+
+  /**
+   * Reads a string written by putString.
+   *
+   * @param buffer the buffer
+   * @return the string
+   * @throws IOException if the string cannot be decoded
+   */
+  private static String getString(ByteBuffer buffer) throws IOException {
+
+    byte[] bytes = new byte[buffer.getInt()];
+    buffer.get(bytes);
+    return new String(bytes, "UTF-8");
+  }
+
+  /**
+   * Rounds a position up to a multiple of 8.
+   *
+   * @param position the position
+   * @return the aligned position
+   */
+  private static long align(long position) {
+    return (position + 7) & ~7L;
+  }
+}
@@ -1,127 +1,199 @@
-/***********************************************************************
-
-	This file is part of KEEL-software, the Data Mining tool for regression, 
-	classification, clustering, pattern mining and so on.
-
-	Copyright (C) 2004-2010
-	
-	F. Herrera (herrera@decsai.ugr.es)
-    L. Sánchez (luciano@uniovi.es)
-    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
-    S. García (sglopez@ujaen.es)
-    A. Fernández (alberto.fernandez@ujaen.es)
-    J. Luengo (julianlm@decsai.ugr.es)
-
-	This program is free software: you can redistribute it and/or modify
-	it under the terms of the GNU General Public License as published by
-	the Free Software Foundation, either version 3 of the License, or
-	(at your option) any later version.
-
-	This program is distributed in the hope that it will be useful,
-	but WITHOUT ANY WARRANTY; without even the implied warranty of
-	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
-	GNU General Public License for more details.
-
-	You should have received a copy of the GNU General Public License
-	along with this program.  If not, see http://www.gnu.org/licenses/
-  
-**********************************************************************/
-
-
-
-package keel.Algorithms.Decision_Trees.FRBDT.core;
-
-import java.io.*;
-
-
-/**
- * <p> Implements methods to manage data files
- * @author Written by Jesus Alcala (University of Granada) 16/06/2004
- * @author Modified by Pedro Gonzalez (University of Jaen) 22/12/2008
- * @version 2
- * @since JDK1.5
- * </p>
- */
-public class Files{
-/**
- * <p>
- * Implements methods to manage data files
- * </p>
- */
-
-
-    /**
-     * <p>
-     * Read a file and returns the content
-     * </p>
-     * @param fileName Name of the file to read
-     * @return A string with the content of the file
-     */
-    public static String readFile(String fileName) {
-        String content = "";
-        try {
-                FileInputStream fis = new FileInputStream(fileName);
-                byte[] piece = new byte[4096];
-                int readBytes = 0;
-                while (readBytes != -1) {
-				readBytes = fis.read(piece);
-				if (readBytes != -1) {
-					content += new String(piece, 0, readBytes);
-				}
-		}
-		fis.close();
-	    }
-	catch (IOException e) {
-	        e.printStackTrace();
-	        System.exit(-1);
-	    }
-
-        return content;
-    }
-
-
-    /**
-     * <p>
-     * Writes data in the file, overwriting previous content 
-     * </p>
-     * @param fileName Name of the file to read
-     * @param content The content to be written
-     */
-    public static void writeFile (String fileName, String content) {
-        try {
-                FileOutputStream f = new FileOutputStream(fileName);
-                DataOutputStream fis = new DataOutputStream((OutputStream) f);
-                fis.writeBytes(content);
-                fis.close();
-	    }
-        catch (IOException e) {
-	        e.printStackTrace();
-	        System.exit(-1);
-	    }
-    }
-
-
-    /**
-     * <p>
-     * Adds data in the file, avoiding overwrite previous content 
-     * </p>
-     * @param fileName Name of the file to read
-     * @param content The content to be written
-     */
-    public static void addToFile (String fileName, String content) {
-        try {
-                RandomAccessFile fis = new RandomAccessFile(fileName, "rw");
-                fis.seek(fis.length());
-                fis.writeBytes(content);
-                fis.close();
-            }
-        catch (IOException e) {
-                e.printStackTrace();
-                System.exit(-1);
-            }
-    }
-
-
-}
-
-
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+
+
+package keel.Algorithms.Decision_Trees.FRBDT.core;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+
+
+/**
+ * <p> Implements methods to manage data files
+ * @author Written by Jesus Alcala (University of Granada) 16/06/2004
+ * @author Modified by Pedro Gonzalez (University of Jaen) 22/12/2008
+ * @version 2
+ * @since JDK1.5
+ * </p>
+ */
+public class Files{
+/**
+ * <p>
+ * Implements methods to manage data files
+ * </p>
+ */
+
+
+    /** The encoding of the files read and written */
+    public static final Charset CHARSET = Charset.forName("UTF-8");
+
+    /** The size of the buffer of the line readers, in characters */
+    public static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * <p>
+     * Receives the lines of a file read by forEachLine
+     * </p>
+     */
+    public interface LineHandler {
+
+        /**
+         * <p>
+         * Processes one line
+         * </p>
+         * @param line The line, without its terminator
+         * @return false to stop reading the file
+         * @throws IOException If the line cannot be processed
+         */
+        boolean line(String line) throws IOException;
+    }
+
+    /**
+     * <p>
+     * Read a file and returns the content. The file is read in one piece
+     * and decoded once, so it takes linear time and never splits a
+     * character.
+     * </p>
+     * @param fileName Name of the file to read
+     * @return A string with the content of the file
+     */
+    public static String readFile(String fileName) {
+        String content = "";
+        try {
+                content = readContent(fileName);
+	    }
+	catch (IOException e) {
+	        e.printStackTrace();
+	        System.exit(-1);
+	    }
+
+        return content;
+    }
+
+    /**
+     * <p>
+     * Read a file and returns the content, as readFile does, but reporting
+     * the errors to the caller
+     * </p>
+     * @param fileName Name of the file to read
+     * @return A string with the content of the file
+     * @throws IOException If the file cannot be read
+     */
+    public static String readContent(String fileName) throws IOException {
+        byte[] bytes = java.nio.file.Files.readAllBytes(Paths.get(fileName));
+        return new String(bytes, CHARSET);
+    }
+
+    /**
+     * <p>
+     * Opens a file to be read line by line, through a buffer
+     * </p>
+     * @param fileName Name of the file to read
+     * @return The reader
+     * @throws IOException If the file cannot be opened
+     */
+    public static BufferedReader openReader(String fileName) throws IOException {
+        return new BufferedReader(new InputStreamReader(
+                java.nio.file.Files.newInputStream(Paths.get(fileName)), CHARSET), BUFFER_SIZE);
+    }
+
+    /**
+     * <p>
+     * Reads a file line by line, without holding more than one line in
+     * memory
+     * </p>
+     * @param fileName Name of the file to read
+     * @param handler The receiver of the lines
+     * @return The number of lines read
+     * @throws IOException If the file cannot be read or a line processed
+     */
+    public static long forEachLine(String fileName, LineHandler handler) throws IOException {
+        BufferedReader reader = openReader(fileName);
+        long numLines = 0;
+        try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                        numLines++;
+                        if (!handler.line(line))
+                                break;
+                }
+        } finally {
+                reader.close();
+        }
+        return numLines;
+    }
+
+
+    /**
+     * <p>
+     * Writes data in the file, overwriting previous content 
+     * </p>
+     * @param fileName Name of the file to read
+     * @param content The content to be written
+     */
+    public static void writeFile (String fileName, String content) {
+        try {
+                Writer fis = new BufferedWriter(new OutputStreamWriter(
+                        new FileOutputStream(fileName), CHARSET));
+                fis.write(content);
+                fis.close();
+	    }
+        catch (IOException e) {
+	        e.printStackTrace();
+	        System.exit(-1);
+	    }
+    }
+
+
+    /**
+     * <p>
+     * Adds data in the file, avoiding overwrite previous content 
+     * </p>
+     * @param fileName Name of the file to read
+     * @param content The content to be written
+     */
+    public static void addToFile (String fileName, String content) {
+        try {
+                Writer fis = new BufferedWriter(new OutputStreamWriter(
+                        new FileOutputStream(fileName, true), CHARSET));
+                fis.write(content);
+                fis.close();
+            }
+        catch (IOException e) {
+                e.printStackTrace();
+                System.exit(-1);
+            }
+    }
+
+
+}
+
+
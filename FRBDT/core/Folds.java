@@ -0,0 +1,192 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+
+package keel.Algorithms.Decision_Trees.FRBDT.core;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The stratified assignment of the rows of a columnar set of instances to
+ * the folds of a cross-validation. The rows of each class are shuffled and
+ * dealt to the folds in turn, so every fold gets its share of every class.
+ * A fold is only a range of positions in one array of row numbers, so the
+ * instances are never copied. Rows with a missing class are left out. It
+ * takes linear time in the number of rows.
+ */
+public class Folds implements Serializable {
+
+  /** for serialization */
+  static final long serialVersionUID = 4715936245097438121L;
+
+  /** The rows of the folds, the rows of each fold contiguous and in order */
+  protected int[] m_Rows;
+
+  /** The position in m_Rows of the first row of each fold, and the end */
+  protected int[] m_FoldStart;
+
+  /** The fold of each row of the instances, -1 for the rows left out */
+  protected int[] m_Fold;
+
+  /**
+   * Assigns the rows of a set to folds.
+   *
+   * @param data the instances
+   * @param numFolds the number of folds
+   * @param random the generator that shuffles the rows of each class, or
+   * null to keep them in order
+   * @throws IllegalArgumentException if there are less than two folds, or
+   * more folds than rows with a class
+   */
+  public Folds(ColumnarInstances data, int numFolds, Random random) {
+
+    int[] classes = data.classes();
+    int numRows = data.numInstances();
+    int numClasses = data.numClasses();
+    if (numFolds < 2) {
+      throw new IllegalArgumentException("Number of folds must be at least 2!");
+    }
+
+    // counting sort of the rows by class
+    int[] classStart = new int[numClasses + 1];
+    for (int i = 0; i < numRows; i++) {
+      if (classes[i] >= 0)
+        classStart[classes[i] + 1]++;
+    }
+    for (int c = 0; c < numClasses; c++)
+      classStart[c + 1] += classStart[c];
+    int numLabelled = classStart[numClasses];
+    if (numFolds > numLabelled) {
+      throw new IllegalArgumentException("Can't have more folds than instances!");
+    }
+    int[] byClass = new int[numLabelled];
+    int[] next = new int[numClasses];
+    System.arraycopy(classStart, 0, next, 0, numClasses);
+    for (int i = 0; i < numRows; i++) {
+      if (classes[i] >= 0)
+        byClass[next[classes[i]]++] = i;
+    }
+    if (random != null) {
+      for (int c = 0; c < numClasses; c++) {
+        for (int j = classStart[c + 1] - 1; j > classStart[c]; j--) {
+          int k = classStart[c] + random.nextInt(j - classStart[c] + 1);
+          int row = byClass[j];
+          byClass[j] = byClass[k];
+          byClass[k] = row;
+        }
+      }
+    }
+
+    // deal them to the folds in turn, the j-th one to fold j % numFolds
+    m_FoldStart = new int[numFolds + 1];
+    for (int k = 0; k < numFolds; k++)
+      m_FoldStart[k + 1] = m_FoldStart[k] + numLabelled / numFolds
+        + (k < numLabelled % numFolds ? 1 : 0);
+    m_Rows = new int[numLabelled];
+    m_Fold = new int[numRows];
+    Arrays.fill(m_Fold, -1);
+    for (int j = 0; j < numLabelled; j++) {
+      m_Rows[m_FoldStart[j % numFolds] + j / numFolds] = byClass[j];
+      m_Fold[byClass[j]] = j % numFolds;
+    }
+  }
+
+  /**
+   * Returns the number of folds
+   *
+   * @return the number of folds
+   */
+  public int numFolds() {
+
+    return m_FoldStart.length - 1;
+  }
+
+  /**
+   * Returns the number of rows assigned to some fold
+   *
+   * @return the number of rows
+   */
+  public int numRows() {
+
+    return m_Rows.length;
+  }
+
+  /**
+   * Returns the rows of all the folds, one fold after the other. The array
+   * is shared and must not be modified.
+   *
+   * @return the rows
+   */
+  public int[] rows() {
+
+    return m_Rows;
+  }
+
+  /**
+   * Returns the position in rows() of the first test row of a fold
+   *
+   * @param fold the fold
+   * @return the position
+   */
+  public int testStart(int fold) {
+
+    return m_FoldStart[fold];
+  }
+
+  /**
+   * Returns the end of the test rows of a fold in rows() (exclusive)
+   *
+   * @param fold the fold
+   * @return the position
+   */
+  public int testEnd(int fold) {
+
+    return m_FoldStart[fold + 1];
+  }
+
+  /**
+   * Returns the training rows of a fold, those of all the other folds, in
+   * increasing order.
+   *
+   * @param fold the fold
+   * @return the rows
+   */
+  public int[] trainRows(int fold) {
+
+    int[] rows = new int[m_Rows.length - (testEnd(fold) - testStart(fold))];
+    int numRows = 0;
+    for (int i = 0; i < m_Fold.length; i++) {
+      if (m_Fold[i] >= 0 && m_Fold[i] != fold)
+        rows[numRows++] = i;
+    }
+    return rows;
+  }
+}
@@ -0,0 +1,162 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+package keel.Algorithms.Decision_Trees.FRBDT.core;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Metrics sink that writes each event as one line of JSON, e.g.
+ * <pre>
+ * {"time":1700000000000,"event":"layer","layer":0,"rows":1000,"ms":12.5}
+ * </pre>
+ * The time is the wall clock in milliseconds when the event is recorded.
+ */
+public class JsonLinesMetricsSink implements MetricsSink {
+
+  /** The output */
+  private Writer m_Out;
+
+  /**
+   * Constructor appending to a file.
+   *
+   * @param fileName the name of the file
+   * @throws IOException if the file cannot be opened
+   */
+  public JsonLinesMetricsSink(String fileName) throws IOException {
+    this(new FileOutputStream(fileName, true));
+  }
+
+  /**
+   * Constructor writing to a stream, which is closed with the sink.
+   *
+   * @param out the stream
+   * @throws IOException if the stream cannot be written as UTF-8
+   */
+  public JsonLinesMetricsSink(OutputStream out) throws IOException {
+    m_Out = new BufferedWriter(new OutputStreamWriter(out, "UTF-8"));
+  }
+
+  /**
+   * Records an event as one line.
+   *
+   * @param event the name of the event
+   * @param fields the names and values of the fields, alternating
+   */
+  public void record(String event, Object... fields) {
+
+    StringBuffer line = new StringBuffer(64 + 16 * fields.length);
+    line.append("{\"time\":").append(System.currentTimeMillis());
+    line.append(",\"event\":");
+    appendString(line, event);
+    for (int i = 0; i + 1 < fields.length; i += 2) {
+      line.append(',');
+      appendString(line, String.valueOf(fields[i]));
+      line.append(':');
+      appendValue(line, fields[i + 1]);
+    }
+    line.append("}\n");
+    synchronized (this) {
+      try {
+        m_Out.write(line.toString());
+        m_Out.flush();
+      } catch (IOException e) {
+        System.err.println("Cannot write the metrics: " + e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Closes the output.
+   */
+  public synchronized void close() {
+
+    try {
+      m_Out.close();
+    } catch (IOException e) {
+      System.err.println("Cannot close the metrics: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Appends a value as JSON: numbers and booleans as they are, infinite
+   * and NaN numbers as null, and anything else as a string.
+   *
+   * @param line the line
+   * @param value the value
+   */
+  private static void appendValue(StringBuffer line, Object value) {
+
+    if (value == null) {
+      line.append("null");
+    } else if (value instanceof Double || value instanceof Float) {
+      double d = ((Number)value).doubleValue();
+      if (Double.isNaN(d) || Double.isInfinite(d))
+        line.append("null");
+      else
+        line.append(d);
+    } else if (value instanceof Number || value instanceof Boolean) {
+      line.append(value);
+    } else {
+      appendString(line, value.toString());
+    }
+  }
+
+  /**
+   * Appends a quoted and escaped JSON string.
+   *
+   * @param line the line
+   * @param s the string
+   */
+  private static void appendString(StringBuffer line, String s) {
+
+    line.append('"');
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      switch (c) {
+      case '"': line.append("\\\""); break;
+      case '\\': line.append("\\\\"); break;
+      case '\n': line.append("\\n"); break;
+      case '\r': line.append("\\r"); break;
+      case '\t': line.append("\\t"); break;
+      default:
+        if (c < 0x20)
+          line.append(String.format("\\u%04x", (int)c));
+        else
+          line.append(c);
+      }
+    }
+    line.append('"');
+  }
+}
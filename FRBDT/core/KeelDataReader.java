@@ -0,0 +1,684 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+package keel.Algorithms.Decision_Trees.FRBDT.core;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.StringTokenizer;
+
+/**
+ * Streaming reader of KEEL data files. The header is parsed into an empty
+ * set of Instances and the data rows are then parsed, one at a time, from a
+ * byte buffer: numeric tokens are converted without building String objects
+ * and nominal tokens are matched against the encoded nominal values. The
+ * rows can be consumed one by one or collected directly into a
+ * ColumnarInstances, so the data never exists twice in memory.
+ */
+public class KeelDataReader {
+
+  /** The size of the read buffer */
+  public static final int BUFFER_SIZE = 1 << 16;
+
+  /** Kind of a column: numeric */
+  private static final int NUMERIC = 0;
+
+  /** Kind of a column: nominal */
+  private static final int NOMINAL = 1;
+
+  /** Kind of a column: not used (neither input nor output) */
+  private static final int SKIPPED = 2;
+
+  /** The powers of ten that are exactly representable as doubles */
+  private static final double[] POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+    1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+  /** The stream being read */
+  private InputStream m_Stream;
+
+  /** The read buffer */
+  private byte[] m_Buffer = new byte[BUFFER_SIZE];
+
+  /** The position of the next byte in the buffer */
+  private int m_Pos = 0;
+
+  /** The number of valid bytes in the buffer */
+  private int m_Limit = 0;
+
+  /** The number of bytes consumed so far */
+  private long m_Consumed = 0;
+
+  /** The size of the file, -1 if unknown */
+  private long m_Length = -1;
+
+  /** The current line, for error messages */
+  private int m_Line = 0;
+
+  /** The bytes of the current token */
+  private byte[] m_Token = new byte[64];
+
+  /** The length of the current token */
+  private int m_TokenLength;
+
+  /** The header of the data */
+  private Instances m_Header;
+
+  /** The header lines of the file, as they have to be echoed in outputs */
+  private StringBuffer m_HeaderText = new StringBuffer();
+
+  /** The kind of each attribute of the file */
+  private int[] m_Kinds;
+
+  /** The column of each attribute of the file, -1 if skipped */
+  private int[] m_Columns;
+
+  /** The encoded nominal values of each attribute of the file */
+  private byte[][][] m_NominalValues;
+
+  /** The row being parsed, indexed by column */
+  private double[] m_Row;
+
+  /**
+   * Constructor. Opens a KEEL data file and parses its header.
+   *
+   * @param fileName the name of the file
+   * @throws IOException if the file cannot be read or its header is wrong
+   */
+  public KeelDataReader(String fileName) throws IOException {
+    this(fileName, null);
+  }
+
+  /**
+   * Constructor. Opens a KEEL data file whose attributes are already known,
+   * like the test file of a training file, and parses its header.
+   *
+   * @param fileName the name of the file
+   * @param header the known attributes, or null to take them from the file
+   * @throws IOException if the file cannot be read or its header is wrong
+   */
+  public KeelDataReader(String fileName, Instances header) throws IOException {
+    this(new FileInputStream(fileName), header);
+    m_Length = new File(fileName).length();
+  }
+
+  /**
+   * Constructor. Parses the header of KEEL data read from a stream.
+   *
+   * @param stream the stream, closed by close()
+   * @param header the known attributes, or null to take them from the stream
+   * @throws IOException if the stream cannot be read or its header is wrong
+   */
+  public KeelDataReader(InputStream stream, Instances header) throws IOException {
+    m_Stream = stream;
+    readHeader(header);
+  }
+
+  /**
+   * Reads and parses the header lines, up to the @data line.
+   *
+   * @param known the known attributes, or null to build them
+   * @throws IOException if the header is wrong
+   */
+  private void readHeader(Instances known) throws IOException {
+
+    String relation = "";
+    ArrayList<String> names = new ArrayList<String>();
+    ArrayList<FastVector> nominals = new ArrayList<FastVector>();
+    ArrayList<String> ranges = new ArrayList<String>();
+    ArrayList<String> attributeLines = new ArrayList<String>();
+    ArrayList<String> inputs = null;
+    ArrayList<String> outputs = null;
+    String inputsLine = null, outputsLine = null;
+
+    String line;
+    while ((line = readLine()) != null) {
+      String trimmed = line.trim();
+      if (trimmed.length() == 0 || trimmed.charAt(0) == '%')
+        continue;
+      String lower = trimmed.toLowerCase();
+      if (lower.startsWith("@relation")) {
+        relation = Utils.unquote(trimmed.substring(9).trim());
+        m_HeaderText.append(trimmed).append('\n');
+      } else if (lower.startsWith("@attribute")) {
+        parseAttribute(trimmed.substring(10).trim(), names, nominals, ranges);
+        attributeLines.add(trimmed);
+      } else if (lower.startsWith("@inputs") || lower.startsWith("@input")) {
+        inputs = parseNames(trimmed.substring(lower.startsWith("@inputs") ? 7 : 6));
+        inputsLine = trimmed;
+      } else if (lower.startsWith("@outputs") || lower.startsWith("@output")) {
+        outputs = parseNames(trimmed.substring(lower.startsWith("@outputs") ? 8 : 7));
+        outputsLine = trimmed;
+      } else if (lower.startsWith("@data")) {
+        break;
+      } else {
+        throw new IOException("Unexpected header line " + m_Line + ": " + trimmed);
+      }
+    }
+    if (line == null)
+      throw new IOException("No @data section found");
+
+    int numFile = names.size();
+    if (outputs == null) {
+      outputs = new ArrayList<String>();
+      outputs.add(names.get(numFile - 1));
+    }
+    int output = names.indexOf(outputs.get(0));
+    if (output < 0)
+      throw new IOException("Unknown output attribute " + outputs.get(0));
+
+    m_Kinds = new int[numFile];
+    m_Columns = new int[numFile];
+    m_NominalValues = new byte[numFile][][];
+    FastVector atts = new FastVector(numFile);
+    int classIndex = -1;
+    StringBuffer outputLines = new StringBuffer();
+    for (int j = 0; j < numFile; j++) {
+      String name = names.get(j);
+      if (j != output && inputs != null && !inputs.contains(name)) {
+        m_Kinds[j] = SKIPPED;
+        m_Columns[j] = -1;
+        continue;
+      }
+      int column = atts.size();
+      AttributeWeka aWeka;
+      if (nominals.get(j) != null) {
+        aWeka = new AttributeWeka(name, nominals.get(j), column);
+      } else {
+        aWeka = new AttributeWeka(name, column);
+        if (ranges.get(j) != null)
+          aWeka.setNumericRange(ranges.get(j));
+      }
+      if (j == output) {
+        classIndex = column;
+        outputLines.append(attributeLines.get(j)).append('\n');
+      } else {
+        m_HeaderText.append(attributeLines.get(j)).append('\n');
+      }
+      atts.addElement(aWeka);
+      m_Columns[j] = column;
+    }
+    m_HeaderText.append(outputLines);
+    if (inputsLine != null)
+      m_HeaderText.append(inputsLine).append('\n');
+    m_HeaderText.append(outputsLine != null ? outputsLine : "@outputs " + outputs.get(0)).append('\n');
+    m_HeaderText.append("@data\n");
+
+    if (known == null) {
+      m_Header = new Instances(relation, atts, 0);
+      m_Header.setClassIndex(classIndex);
+    } else {
+      if (known.numAttributes() != atts.size() || known.classIndex() != classIndex)
+        throw new IOException("The attributes of the file do not match the given header");
+      m_Header = new Instances(known, 0);
+    }
+    for (int j = 0; j < numFile; j++) {
+      if (m_Columns[j] < 0)
+        continue;
+      AttributeWeka att = m_Header.attribute(m_Columns[j]);
+      if (att.isNominal()) {
+        m_Kinds[j] = NOMINAL;
+        m_NominalValues[j] = new byte[att.numValues()][];
+        for (int v = 0; v < att.numValues(); v++)
+          m_NominalValues[j][v] = att.value(v).getBytes("UTF-8");
+      } else {
+        m_Kinds[j] = NUMERIC;
+      }
+    }
+    m_Row = new double[atts.size()];
+  }
+
+  /**
+   * Parses the definition of an attribute that follows "@attribute".
+   *
+   * @param def the definition
+   * @param names the names read so far
+   * @param nominals the nominal values of the attributes read so far
+   * @param ranges the numeric ranges of the attributes read so far
+   * @throws IOException if the definition is wrong
+   */
+  private void parseAttribute(String def, ArrayList<String> names,
+                              ArrayList<FastVector> nominals,
+                              ArrayList<String> ranges) throws IOException {
+
+    String name, rest;
+    if (def.length() > 0 && (def.charAt(0) == '\'' || def.charAt(0) == '"')) {
+      int end = def.indexOf(def.charAt(0), 1);
+      if (end < 0)
+        throw new IOException("Unterminated attribute name at line " + m_Line);
+      name = def.substring(1, end);
+      rest = def.substring(end + 1).trim();
+    } else {
+      int end = 0;
+      while (end < def.length() && !Character.isWhitespace(def.charAt(end))
+             && def.charAt(end) != '{')
+        end++;
+      name = def.substring(0, end);
+      rest = def.substring(end).trim();
+    }
+    names.add(name);
+
+    if (rest.startsWith("{")) {
+      int end = rest.lastIndexOf('}');
+      if (end < 0)
+        throw new IOException("Unterminated nominal values at line " + m_Line);
+      FastVector values = new FastVector();
+      StringTokenizer st = new StringTokenizer(rest.substring(1, end), ",");
+      while (st.hasMoreTokens())
+        values.addElement(Utils.unquote(st.nextToken().trim()));
+      nominals.add(values);
+      ranges.add(null);
+    } else {
+      nominals.add(null);
+      int open = rest.indexOf('[');
+      int close = rest.indexOf(']');
+      if (open >= 0 && close > open) {
+        StringTokenizer st = new StringTokenizer(rest.substring(open + 1, close), ",");
+        ranges.add("[" + st.nextToken().trim() + "," + st.nextToken().trim() + ")");
+      } else {
+        ranges.add(null);
+      }
+    }
+  }
+
+  /**
+   * Splits a comma separated list of attribute names.
+   *
+   * @param list the list
+   * @return the names
+   */
+  private static ArrayList<String> parseNames(String list) {
+
+    ArrayList<String> names = new ArrayList<String>();
+    StringTokenizer st = new StringTokenizer(list, ",");
+    while (st.hasMoreTokens()) {
+      String name = st.nextToken().trim();
+      if (name.length() > 0)
+        names.add(Utils.unquote(name));
+    }
+    return names;
+  }
+
+  /**
+   * Refills the buffer.
+   *
+   * @return false at the end of the stream
+   * @throws IOException if the stream cannot be read
+   */
+  private boolean fill() throws IOException {
+
+    m_Consumed += m_Limit;
+    m_Pos = 0;
+    m_Limit = m_Stream.read(m_Buffer, 0, m_Buffer.length);
+    if (m_Limit <= 0) {
+      m_Limit = 0;
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Reads one header line.
+   *
+   * @return the line, without the line terminator, or null at the end
+   * @throws IOException if the stream cannot be read
+   */
+  private String readLine() throws IOException {
+
+    m_TokenLength = 0;
+    boolean any = false;
+    while (m_Pos < m_Limit || fill()) {
+      byte b = m_Buffer[m_Pos++];
+      any = true;
+      if (b == '\n')
+        break;
+      if (b != '\r')
+        appendToken(b);
+    }
+    if (!any)
+      return null;
+    m_Line++;
+    return new String(m_Token, 0, m_TokenLength, "UTF-8");
+  }
+
+  /**
+   * Appends a byte to the current token.
+   *
+   * @param b the byte
+   */
+  private void appendToken(byte b) {
+
+    if (m_TokenLength == m_Token.length) {
+      byte[] token = new byte[2 * m_Token.length];
+      System.arraycopy(m_Token, 0, token, 0, m_TokenLength);
+      m_Token = token;
+    }
+    m_Token[m_TokenLength++] = b;
+  }
+
+  /**
+   * Reads the next data row.
+   *
+   * @param values the array that receives the values, indexed by the
+   * attributes of header()
+   * @return false if there are no more rows
+   * @throws IOException if the stream cannot be read or the row is wrong
+   */
+  public boolean readRow(double[] values) throws IOException {
+
+    int b;
+    /* skip blank and comment lines */
+    while (true) {
+      if (m_Pos == m_Limit && !fill())
+        return false;
+      b = m_Buffer[m_Pos];
+      if (b == '\n') {
+        m_Line++;
+        m_Pos++;
+      } else if (b == '\r' || b == ' ' || b == '\t') {
+        m_Pos++;
+      } else if (b == '%') {
+        while ((m_Pos < m_Limit || fill()) && m_Buffer[m_Pos] != '\n')
+          m_Pos++;
+      } else {
+        break;
+      }
+    }
+    m_Line++;
+
+    int numFile = m_Kinds.length;
+    for (int j = 0; j < numFile; j++) {
+      int end = readToken();
+      if (end == -1 && j < numFile - 1)
+        throw new IOException("Missing values at line " + m_Line);
+      if (end == '\n' && j < numFile - 1)
+        throw new IOException("Missing values at line " + m_Line);
+      if (m_Columns[j] >= 0)
+        values[m_Columns[j]] = tokenValue(j);
+      if (j == numFile - 1 && end == ',')
+        throw new IOException("Too many values at line " + m_Line);
+    }
+    return true;
+  }
+
+  /**
+   * Reads the next token of a data row into m_Token, skipping the blanks
+   * around it and removing its quotes.
+   *
+   * @return the byte that ended the token: ',', '\n', or -1 at the end
+   * @throws IOException if the stream cannot be read
+   */
+  private int readToken() throws IOException {
+
+    m_TokenLength = 0;
+    while ((m_Pos < m_Limit || fill())
+           && (m_Buffer[m_Pos] == ' ' || m_Buffer[m_Pos] == '\t'))
+      m_Pos++;
+    if (m_Pos < m_Limit && (m_Buffer[m_Pos] == '\'' || m_Buffer[m_Pos] == '"')) {
+      byte quote = m_Buffer[m_Pos++];
+      while ((m_Pos < m_Limit || fill()) && m_Buffer[m_Pos] != quote)
+        appendToken(m_Buffer[m_Pos++]);
+      if (m_Pos < m_Limit)
+        m_Pos++;
+    }
+    while (m_Pos < m_Limit || fill()) {
+      byte b = m_Buffer[m_Pos++];
+      if (b == ',' || b == '\n')
+        return b;
+      if (b != '\r')
+        appendToken(b);
+    }
+    return -1;
+  }
+
+  /**
+   * Converts the current token into the internal value of an attribute.
+   *
+   * @param j the attribute of the file
+   * @return the value
+   * @throws IOException if the token is not a valid value
+   */
+  private double tokenValue(int j) throws IOException {
+
+    while (m_TokenLength > 0 && (m_Token[m_TokenLength - 1] == ' '
+                                 || m_Token[m_TokenLength - 1] == '\t'))
+      m_TokenLength--;
+    if (isMissingToken())
+      return Instance.missingValue();
+    if (m_Kinds[j] == NOMINAL) {
+      byte[][] values = m_NominalValues[j];
+      for (int v = 0; v < values.length; v++) {
+        if (tokenEquals(values[v]))
+          return v;
+      }
+      throw new IOException("Unknown nominal value \""
+                            + new String(m_Token, 0, m_TokenLength, "UTF-8")
+                            + "\" at line " + m_Line);
+    }
+    return parseNumber();
+  }
+
+  /**
+   * Whether the current token is a missing value, "?" or "<null>".
+   *
+   * @return true if the token is missing
+   */
+  private boolean isMissingToken() {
+
+    if (m_TokenLength == 1 && m_Token[0] == '?')
+      return true;
+    return m_TokenLength == 6 && m_Token[0] == '<' && m_Token[1] == 'n'
+      && m_Token[2] == 'u' && m_Token[3] == 'l' && m_Token[4] == 'l'
+      && m_Token[5] == '>';
+  }
+
+  /**
+   * Whether the current token has the given bytes.
+   *
+   * @param value the bytes
+   * @return true if they are the same
+   */
+  private boolean tokenEquals(byte[] value) {
+
+    if (value.length != m_TokenLength)
+      return false;
+    for (int i = 0; i < m_TokenLength; i++) {
+      if (value[i] != m_Token[i])
+        return false;
+    }
+    return true;
+  }
+
+  /**
+   * Parses the current token as a decimal number. Numbers with at most 15
+   * significant digits and a small exponent are computed exactly from their
+   * digits; any other number is handed to Double.parseDouble, so the result
+   * is always the same as Double.parseDouble's.
+   *
+   * @return the number
+   * @throws IOException if the token is not a number
+   */
+  private double parseNumber() throws IOException {
+
+    int i = 0, n = m_TokenLength;
+    boolean negative = false;
+    if (i < n && (m_Token[i] == '-' || m_Token[i] == '+')) {
+      negative = (m_Token[i] == '-');
+      i++;
+    }
+    long mantissa = 0;
+    int digits = 0, exponent = 0;
+    boolean any = false, fast = true;
+    for (; i < n && m_Token[i] >= '0' && m_Token[i] <= '9'; i++) {
+      any = true;
+      if (mantissa == 0 && m_Token[i] == '0')
+        continue;
+      if (++digits > 15)
+        fast = false;
+      else
+        mantissa = 10 * mantissa + (m_Token[i] - '0');
+    }
+    if (i < n && m_Token[i] == '.') {
+      for (i++; i < n && m_Token[i] >= '0' && m_Token[i] <= '9'; i++) {
+        any = true;
+        if (mantissa == 0 && m_Token[i] == '0') {
+          exponent--;
+          continue;
+        }
+        if (++digits > 15) {
+          fast = false;
+        } else {
+          mantissa = 10 * mantissa + (m_Token[i] - '0');
+          exponent--;
+        }
+      }
+    }
+    if (any && i < n && (m_Token[i] == 'e' || m_Token[i] == 'E')) {
+      i++;
+      boolean negativeExp = false;
+      if (i < n && (m_Token[i] == '-' || m_Token[i] == '+')) {
+        negativeExp = (m_Token[i] == '-');
+        i++;
+      }
+      int exp = 0;
+      boolean anyExp = false;
+      for (; i < n && m_Token[i] >= '0' && m_Token[i] <= '9'; i++) {
+        anyExp = true;
+        if (exp < 100000)
+          exp = 10 * exp + (m_Token[i] - '0');
+      }
+      if (!anyExp)
+        any = false;
+      exponent += negativeExp ? -exp : exp;
+    }
+
+    if (!any || i != n || !fast || exponent < -22 || exponent > 22) {
+      String token = new String(m_Token, 0, m_TokenLength, "UTF-8");
+      try {
+        return Double.parseDouble(token);
+      } catch (NumberFormatException e) {
+        throw new IOException("Wrong number \"" + token + "\" at line " + m_Line);
+      }
+    }
+    double value = (double)mantissa;
+    if (exponent < 0)
+      value /= POWERS_OF_TEN[-exponent];
+    else
+      value *= POWERS_OF_TEN[exponent];
+    return negative ? -value : value;
+  }
+
+  /**
+   * Reads all the remaining rows into a columnar set of instances.
+   *
+   * @return the instances
+   * @throws IOException if the stream cannot be read or a row is wrong
+   */
+  public ColumnarInstances readAll() throws IOException {
+    return readAll(false);
+  }
+
+  /**
+   * Reads all the remaining rows into a columnar set of instances, which
+   * keeps only the non-zero values of each attribute if sparse is set.
+   *
+   * @param sparse whether the set is a SparseColumnarInstances
+   * @return the instances
+   * @throws IOException if the stream cannot be read or a row is wrong
+   */
+  public ColumnarInstances readAll(boolean sparse) throws IOException {
+
+    ColumnarInstances data = sparse ? new SparseColumnarInstances(m_Header, 1024)
+                                    : new ColumnarInstances(m_Header, 1024);
+    long start = m_Consumed + m_Pos;
+    while (readRow(m_Row)) {
+      data.add(m_Row, 1);
+      if (data.numInstances() == 1 && m_Length > 0) {
+        /* size the columns from the length of the first row */
+        long rowBytes = Math.max(1, m_Consumed + m_Pos - start);
+        long estimate = (m_Length - start) / rowBytes + 16;
+        estimate += estimate / 8;
+        if (estimate < Integer.MAX_VALUE)
+          data.setCapacity((int)estimate);
+      }
+    }
+    return data;
+  }
+
+  /**
+   * Returns the header: an empty set of instances with the attributes of
+   * the file and the output attribute as class.
+   *
+   * @return the header
+   */
+  public Instances header() {
+    return m_Header;
+  }
+
+  /**
+   * Returns the header lines of the file (relation, input attributes,
+   * output attribute, inputs, outputs and data), in the form used by the
+   * KEEL output files.
+   *
+   * @return the header lines
+   */
+  public String headerText() {
+    return m_HeaderText.toString();
+  }
+
+  /**
+   * Closes the stream.
+   *
+   * @throws IOException if the stream cannot be closed
+   */
+  public void close() throws IOException {
+    m_Stream.close();
+  }
+
+  /**
+   * Reads a whole KEEL data file into a columnar set of instances.
+   *
+   * @param fileName the name of the file
+   * @param header the known attributes, or null to take them from the file
+   * @return the instances
+   * @throws IOException if the file cannot be read or is wrong
+   */
+  public static ColumnarInstances read(String fileName, Instances header) throws IOException {
+
+    KeelDataReader reader = new KeelDataReader(fileName, header);
+    try {
+      return reader.readAll();
+    } finally {
+      reader.close();
+    }
+  }
+}
@@ -0,0 +1,175 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+package keel.Algorithms.Decision_Trees.FRBDT.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of latencies with buckets of logarithmic width, safe to
+ * update from many threads without locking. Each power of two is split
+ * into SUB_BUCKETS buckets, so a percentile is reported with a relative
+ * error below 1/SUB_BUCKETS whatever the magnitude of the values.
+ */
+public class LatencyHistogram {
+
+  /** The number of buckets per power of two, a power of two itself */
+  public static final int SUB_BUCKETS = 16;
+
+  /** log2 of SUB_BUCKETS */
+  private static final int SUB_BITS = 4;
+
+  /** The number of powers of two covered, enough for any positive long */
+  private static final int MAGNITUDES = 64 - SUB_BITS;
+
+  /** The number of values recorded in each bucket */
+  private final AtomicLongArray m_Counts =
+    new AtomicLongArray((MAGNITUDES + 1) * SUB_BUCKETS);
+
+  /** The number of values recorded */
+  private final AtomicLong m_Count = new AtomicLong();
+
+  /** The sum of the values recorded */
+  private final AtomicLong m_Sum = new AtomicLong();
+
+  /** The largest value recorded */
+  private final AtomicLong m_Max = new AtomicLong();
+
+  /**
+   * Returns the bucket of a value.
+   *
+   * @param value the value, not negative
+   * @return the index of its bucket
+   */
+  private static int bucket(long value) {
+
+    if (value < SUB_BUCKETS)
+      return (int)value;
+    int magnitude = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS + 1;
+    int sub = (int)(value >>> (magnitude - 1)) - SUB_BUCKETS;
+    return magnitude * SUB_BUCKETS + sub;
+  }
+
+  /**
+   * Returns the largest value that falls in a bucket.
+   *
+   * @param bucket the index of the bucket
+   * @return the largest value of the bucket
+   */
+  private static long highestValue(int bucket) {
+
+    if (bucket < SUB_BUCKETS)
+      return bucket;
+    int magnitude = bucket / SUB_BUCKETS;
+    long sub = bucket % SUB_BUCKETS + SUB_BUCKETS;
+    return ((sub + 1) << (magnitude - 1)) - 1;
+  }
+
+  /**
+   * Records a value.
+   *
+   * @param value the value, negative values count as 0
+   */
+  public void record(long value) {
+
+    if (value < 0)
+      value = 0;
+    m_Counts.incrementAndGet(bucket(value));
+    m_Count.incrementAndGet();
+    m_Sum.addAndGet(value);
+    long max = m_Max.get();
+    while (value > max && !m_Max.compareAndSet(max, value))
+      max = m_Max.get();
+  }
+
+  /**
+   * Returns the number of values recorded
+   *
+   * @return the number of values
+   */
+  public long count() {
+    return m_Count.get();
+  }
+
+  /**
+   * Returns the mean of the values recorded
+   *
+   * @return the mean, 0 if there are none
+   */
+  public double mean() {
+    long count = m_Count.get();
+    return count == 0 ? 0 : (double)m_Sum.get() / count;
+  }
+
+  /**
+   * Returns the largest value recorded
+   *
+   * @return the largest value, 0 if there are none
+   */
+  public long max() {
+    return m_Max.get();
+  }
+
+  /**
+   * Returns a percentile of the values recorded, rounded up to the largest
+   * value of its bucket and never above the largest value recorded.
+   *
+   * @param percentile the percentile, between 0 and 100
+   * @return the value, 0 if there are none
+   */
+  public long percentile(double percentile) {
+
+    long count = m_Count.get();
+    if (count == 0)
+      return 0;
+    long rank = (long)Math.ceil(percentile / 100 * count);
+    if (rank < 1)
+      rank = 1;
+    long seen = 0;
+    for (int b = 0; b < m_Counts.length(); b++) {
+      seen += m_Counts.get(b);
+      if (seen >= rank)
+        return Math.min(highestValue(b), m_Max.get());
+    }
+    return m_Max.get();
+  }
+
+  /**
+   * Forgets all the values recorded.
+   */
+  public void reset() {
+
+    for (int b = 0; b < m_Counts.length(); b++)
+      m_Counts.set(b, 0);
+    m_Count.set(0);
+    m_Sum.set(0);
+    m_Max.set(0);
+  }
+}
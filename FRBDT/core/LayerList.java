@@ -0,0 +1,89 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+package keel.Algorithms.Decision_Trees.FRBDT.core;
+
+import java.io.Serializable;
+
+/**
+ * A growable list of layers of rules, the typed replacement of FastVector
+ * for a layered ruleset.
+ */
+public class LayerList implements Serializable {
+
+  /** for serialization */
+  private static final long serialVersionUID = 2914740735063781605L;
+
+  /** The layers */
+  private RuleList[] m_Layers;
+
+  /** The number of layers in the list */
+  private int m_Size;
+
+  /**
+   * Constructs an empty list.
+   */
+  public LayerList() {
+    m_Layers = new RuleList[8];
+  }
+
+  /**
+   * Appends a layer, growing the list if needed.
+   *
+   * @param layer the rules of the layer
+   */
+  public void add(RuleList layer) {
+
+    if (m_Size == m_Layers.length) {
+      RuleList[] layers = new RuleList[2 * m_Layers.length];
+      System.arraycopy(m_Layers, 0, layers, 0, m_Size);
+      m_Layers = layers;
+    }
+    m_Layers[m_Size++] = layer;
+  }
+
+  /**
+   * Returns the layer at a given position.
+   *
+   * @param index the position
+   * @return the rules of the layer
+   */
+  public final RuleList get(int index) {
+    return m_Layers[index];
+  }
+
+  /**
+   * Returns the number of layers in the list.
+   *
+   * @return the number of layers
+   */
+  public final int size() {
+    return m_Size;
+  }
+}
@@ -0,0 +1,340 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+package keel.Algorithms.Decision_Trees.FRBDT.core;
+
+import java.io.Serializable;
+import java.util.Enumeration;
+
+/**
+ * Sufficient statistics of the data of one layer: the number of instances
+ * of each class, the sum of their weights, the rows of each class and, for
+ * every input attribute, the sum of its values per class.  They are
+ * gathered in a single pass over the data and shared, read only, by all
+ * the rules grown for the layer, so that the initial trapezoid of any
+ * (attribute, class) pair is available without rescanning the instances.
+ * If some instance weighs other than 1, the sums and the means are
+ * weighted, and a class takes part in the trapezoids only if its weight is
+ * positive. On sparse data only the non-zero values are summed.
+ */
+public class LayerStatistics implements Serializable {
+
+  /** for serialization */
+  static final long serialVersionUID = 4119087266302145512L;
+
+  /** The number of classes */
+  protected int m_NumClasses;
+
+  /** The number of instances of each class */
+  protected double[] m_ClassCounts;
+
+  /** The sum of the weights of the instances of each class */
+  protected double[] m_ClassWeights;
+
+  /** The sum of the (weighted) values of each attribute, indexed by [attribute][class] */
+  protected double[][] m_Sums;
+
+  /** The (weighted) mean value of each attribute, indexed by [attribute][class] */
+  protected double[][] m_Means;
+
+  /** The classes with instances, sorted by their mean value of each attribute */
+  protected int[][] m_SortedClasses;
+
+  /** The position of each class in m_SortedClasses, indexed by [attribute][class] */
+  protected int[][] m_Position;
+
+  /** Whether some instance weighs other than 1 */
+  protected boolean m_Weighted;
+
+  /** The rows of the data grouped by class, in increasing order within each class */
+  protected int[] m_ClassRows;
+
+  /** The position in m_ClassRows of the first row of each class, and the end */
+  protected int[] m_ClassStart;
+
+  /**
+   * Constructor. Gathers the statistics of the given data in one pass.
+   *
+   * @param data the data of the layer
+   */
+  public LayerStatistics(Instances data) {
+    this(new ColumnarInstances(data));
+  }
+
+  /**
+   * Constructor. Gathers the statistics of the given data in one pass over
+   * each column.
+   *
+   * @param data the data of the layer
+   */
+  public LayerStatistics(ColumnarInstances data) {
+
+    m_NumClasses = data.numClasses();
+    int numAttributes = data.numAttributes();
+    int numInstances = data.numInstances();
+    int[] classes = data.classes();
+    double[] weights = data.weights();
+    m_ClassCounts = new double[m_NumClasses];
+    m_ClassWeights = new double[m_NumClasses];
+    for (int i = 0; i < numInstances; i++) {
+      m_ClassCounts[classes[i]]++;
+      m_ClassWeights[classes[i]] += weights[i];
+      if (weights[i] != 1)
+        m_Weighted = true;
+    }
+    m_ClassStart = new int[m_NumClasses + 1];
+    for (int c = 0; c < m_NumClasses; c++)
+      m_ClassStart[c + 1] = m_ClassStart[c] + (int)m_ClassCounts[c];
+    m_ClassRows = new int[numInstances];
+    int[] next = new int[m_NumClasses];
+    System.arraycopy(m_ClassStart, 0, next, 0, m_NumClasses);
+    for (int i = 0; i < numInstances; i++)
+      m_ClassRows[next[classes[i]]++] = i;
+
+    m_Sums = new double[numAttributes][];
+    m_Means = new double[numAttributes][];
+    m_SortedClasses = new int[numAttributes][];
+    m_Position = new int[numAttributes][];
+    Enumeration enumAttr = data.enumerateAttributes();
+    while (enumAttr.hasMoreElements()) {
+      int att = ((AttributeWeka)enumAttr.nextElement()).index();
+      double[] sums = new double[m_NumClasses];
+      if (data.isSparse()) {
+        sparseSums((SparseColumnarInstances)data, att, sums);
+        m_Sums[att] = sums;
+        computeOrder(att);
+        continue;
+      }
+      double[] column = data.column(att);
+      if (m_Weighted) {
+        for (int i = 0; i < numInstances; i++)
+          sums[classes[i]] += weights[i] * column[i];
+      } else {
+        for (int i = 0; i < numInstances; i++)
+          sums[classes[i]] += column[i];
+      }
+      m_Sums[att] = sums;
+      computeOrder(att);
+    }
+  }
+
+  /**
+   * Sums the values of an attribute of sparse data per class. Only the
+   * non-zero values are visited: the zeros add nothing, so the sums are
+   * the same as over the full column.
+   *
+   * @param data the data of the layer
+   * @param att the index of the attribute
+   * @param sums the sum of each class, filled in
+   */
+  private void sparseSums(SparseColumnarInstances data, int att, double[] sums) {
+
+    int[] classes = data.classes();
+    double[] weights = data.weights();
+    int[] rows = data.nonZeroRows(att);
+    double[] values = data.nonZeroValues(att);
+    int size = data.numNonZero(att);
+    if (m_Weighted) {
+      for (int p = 0; p < size; p++)
+        sums[classes[rows[p]]] += weights[rows[p]] * values[p];
+    } else {
+      for (int p = 0; p < size; p++)
+        sums[classes[rows[p]]] += values[p];
+    }
+  }
+
+  /**
+   * Whether a class takes part in the trapezoids: if it has instances or,
+   * for weighted data, a positive weight.
+   *
+   * @param c the class
+   * @return whether it takes part
+   */
+  private boolean present(int c) {
+
+    return m_Weighted ? m_ClassWeights[c] > 0 : m_ClassCounts[c] != 0;
+  }
+
+  /**
+   * Computes the mean of an attribute for each class with instances and
+   * sorts these classes by it.
+   *
+   * @param att the index of the attribute
+   */
+  private void computeOrder(int att) {
+
+    int numClass = 0;
+    for (int c = 0; c < m_NumClasses; c++) {
+      if (present(c))
+        numClass++;
+    }
+    int[] indexClassNotZero = new int[numClass];
+    double[] meanValues = new double[numClass];
+    m_Means[att] = new double[m_NumClasses];
+    int w = 0;
+    for (int c = 0; c < m_NumClasses; c++) {
+      if (present(c)) {
+        indexClassNotZero[w] = c;
+        meanValues[w] = m_Sums[att][c] / (m_Weighted ? m_ClassWeights[c] : m_ClassCounts[c]);
+        m_Means[att][c] = meanValues[w];
+        w++;
+      }
+    }
+
+    int[] sortIndex = Utils.sort(meanValues);
+    m_SortedClasses[att] = new int[numClass];
+    m_Position[att] = new int[m_NumClasses];
+    for (int i = 0; i < numClass; i++) {
+      int c = indexClassNotZero[sortIndex[i]];
+      m_SortedClasses[att][i] = c;
+      m_Position[att][c] = i;
+    }
+  }
+
+  /**
+   * Returns the key values of the initial trapezoid of the given class on
+   * the given attribute. The trapezoid peaks at the mean of the class and
+   * vanishes at the means of its neighbours in the sorted order.
+   *
+   * @param att the index of the attribute
+   * @param c the class
+   * @return the four key values, or null if the class has no instances
+   */
+  public double[] keyValues(int att, int c) {
+
+    if (!present(c))
+      return null;
+    int[] sorted = m_SortedClasses[att];
+    double[] means = m_Means[att];
+    int i = m_Position[att][c];
+    int numClass = sorted.length;
+    if (numClass == 1) {
+      return new double[]{Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                          Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+    } else if (i == 0) {
+      return new double[]{Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                          means[sorted[i]], means[sorted[i + 1]]};
+    } else if (i == numClass - 1) {
+      return new double[]{means[sorted[i - 1]], means[sorted[i]],
+                          Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+    } else {
+      return new double[]{means[sorted[i - 1]], means[sorted[i]],
+                          means[sorted[i]], means[sorted[i + 1]]};
+    }
+  }
+
+  /**
+   * Returns the mean value of an attribute over the instances of a class
+   *
+   * @param att the index of the attribute
+   * @param c the class
+   * @return the mean
+   */
+  public double mean(int att, int c) {
+    return m_Means[att][c];
+  }
+
+  /**
+   * Returns the number of instances of a class
+   *
+   * @param c the class
+   * @return the number of instances
+   */
+  public double classCount(int c) {
+    return m_ClassCounts[c];
+  }
+
+  /**
+   * Returns whether some instance weighs other than 1
+   *
+   * @return whether the statistics are weighted
+   */
+  public boolean isWeighted() {
+    return m_Weighted;
+  }
+
+  /**
+   * Returns the sum of the weights of the instances of a class
+   *
+   * @param c the class
+   * @return the sum of the weights
+   */
+  public double classWeight(int c) {
+    return m_ClassWeights[c];
+  }
+
+  /**
+   * Returns the rows of the data grouped by class, in increasing order
+   * within each class. The array is shared and must not be modified.
+   *
+   * @return the rows
+   */
+  public int[] classRows() {
+    return m_ClassRows;
+  }
+
+  /**
+   * Returns the position in classRows() of the first row of a class
+   *
+   * @param c the class
+   * @return the position
+   */
+  public int classRowsStart(int c) {
+    return m_ClassStart[c];
+  }
+
+  /**
+   * Returns the end of the rows of a class in classRows() (exclusive)
+   *
+   * @param c the class
+   * @return the position
+   */
+  public int classRowsEnd(int c) {
+    return m_ClassStart[c + 1];
+  }
+
+  /**
+   * Returns the class distribution, i.e. the sum of the instance weights
+   * of each class
+   *
+   * @return a copy of the class distribution
+   */
+  public double[] classDistribution() {
+    return m_ClassWeights.clone();
+  }
+
+  /**
+   * Returns the number of classes
+   *
+   * @return the number of classes
+   */
+  public int numClasses() {
+    return m_NumClasses;
+  }
+}
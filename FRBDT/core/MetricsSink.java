@@ -0,0 +1,54 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+package keel.Algorithms.Decision_Trees.FRBDT.core;
+
+/**
+ * Receiver of the measurements taken while training and classifying. Each
+ * measurement is an event with a name and a list of fields, given as
+ * alternating names and values. Implementations must be safe to call from
+ * several threads, since the rules of a layer may be grown in parallel.
+ */
+public interface MetricsSink {
+
+  /**
+   * Records an event.
+   *
+   * @param event the name of the event
+   * @param fields the names and values of the fields, alternating; the
+   * values are numbers, booleans or strings
+   */
+  void record(String event, Object... fields);
+
+  /**
+   * Writes out the events still buffered and releases the resources of
+   * the sink.
+   */
+  void close();
+}
@@ -0,0 +1,448 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+package keel.Algorithms.Decision_Trees.FRBDT.core;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary format of a trained model, loaded without Java
+ * serialization. The file holds the attributes of the training data and
+ * the compiled ruleset as primitive arrays, so reading it amounts to a few
+ * bulk copies.
+ *
+ * <p>Layout (big endian): magic, version, length of the body and CRC32 of
+ * the body, followed by the body: alpha, relation name, class index,
+ * attributes (name, type, nominal values), number of classes, layers,
+ * rules and antecedents, then the first rule of each layer, the first
+ * antecedent of each rule, the consequent and threshold of each rule, and
+ * the attribute and the four key values of each antecedent.</p>
+ */
+public class ModelFile {
+
+  /** The first bytes of a model file, "FRBM" */
+  public static final int MAGIC = 0x4652424d;
+
+  /** The version of the layout */
+  public static final int VERSION = 1;
+
+  /** The size of the fixed part that precedes the body */
+  private static final int PREAMBLE_SIZE = 16;
+
+  /** The first allocation when reading a body of unknown length */
+  private static final int READ_CHUNK = 1 << 16;
+
+  /** Type of a numeric attribute */
+  private static final byte NUMERIC = 0;
+
+  /** Type of a nominal attribute */
+  private static final byte NOMINAL = 1;
+
+  /** The attributes of the training data */
+  private Instances m_Header;
+
+  /** The compiled ruleset */
+  private CompiledRuleset m_Ruleset;
+
+  /** The alpha the rules were grown with */
+  private double m_Alpha;
+
+  /**
+   * Constructor.
+   *
+   * @param header the attributes of the training data, with the class set
+   * @param ruleset the compiled ruleset
+   * @param alpha the alpha the rules were grown with
+   */
+  public ModelFile(Instances header, CompiledRuleset ruleset, double alpha) {
+
+    m_Header = new Instances(header, 0);
+    m_Ruleset = ruleset;
+    m_Alpha = alpha;
+  }
+
+  /**
+   * Returns the attributes of the training data
+   *
+   * @return the header, with the class set
+   */
+  public Instances header() {
+    return m_Header;
+  }
+
+  /**
+   * Returns the compiled ruleset
+   *
+   * @return the ruleset
+   */
+  public CompiledRuleset ruleset() {
+    return m_Ruleset;
+  }
+
+  /**
+   * Returns the alpha the rules were grown with
+   *
+   * @return alpha
+   */
+  public double alpha() {
+    return m_Alpha;
+  }
+
+  /**
+   * Writes the model to a file.
+   *
+   * @param fileName the name of the file
+   * @throws IOException if the file cannot be written
+   */
+  public void write(String fileName) throws IOException {
+
+    OutputStream out = new FileOutputStream(fileName);
+    try {
+      write(out);
+    } finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Writes the model to a stream.
+   *
+   * @param out the stream, which is not closed
+   * @throws IOException if the model cannot be written
+   */
+  public void write(OutputStream out) throws IOException {
+
+    CompiledRuleset r = m_Ruleset;
+    byte[] relation = m_Header.relationName().getBytes("UTF-8");
+    int size = 8 + 4 + relation.length + 4 + 4;
+    byte[][][] names = new byte[m_Header.numAttributes()][][];
+    for (int a = 0; a < names.length; a++) {
+      AttributeWeka att = m_Header.attribute(a);
+      int numValues = att.isNominal() ? att.numValues() : 0;
+      names[a] = new byte[numValues + 1][];
+      names[a][0] = att.name().getBytes("UTF-8");
+      size += 4 + names[a][0].length + 1;
+      if (att.isNominal()) {
+        size += 4;
+        for (int v = 0; v < numValues; v++) {
+          names[a][v + 1] = att.value(v).getBytes("UTF-8");
+          size += 4 + names[a][v + 1].length;
+        }
+      }
+    }
+    size += 4 * 4;
+    size += 4 * (r.m_LayerStart.length + r.m_AntdStart.length + r.m_Consequents.length
+                 + r.m_Attributes.length);
+    size += 8 * (r.m_Thresholds.length + r.m_KeyValues.length);
+
+    ByteBuffer body = ByteBuffer.allocate(size);
+    body.putDouble(m_Alpha);
+    putBytes(body, relation);
+    body.putInt(m_Header.classIndex());
+    body.putInt(names.length);
+    for (int a = 0; a < names.length; a++) {
+      putBytes(body, names[a][0]);
+      if (m_Header.attribute(a).isNominal()) {
+        body.put(NOMINAL);
+        body.putInt(names[a].length - 1);
+        for (int v = 1; v < names[a].length; v++)
+          putBytes(body, names[a][v]);
+      } else {
+        body.put(NUMERIC);
+      }
+    }
+    body.putInt(r.m_NumClasses);
+    body.putInt(r.numLayers());
+    body.putInt(r.numRules());
+    body.putInt(r.numAntds());
+    body.asIntBuffer().put(r.m_LayerStart);
+    body.position(body.position() + 4 * r.m_LayerStart.length);
+    body.asIntBuffer().put(r.m_AntdStart);
+    body.position(body.position() + 4 * r.m_AntdStart.length);
+    body.asIntBuffer().put(r.m_Consequents);
+    body.position(body.position() + 4 * r.m_Consequents.length);
+    body.asDoubleBuffer().put(r.m_Thresholds);
+    body.position(body.position() + 8 * r.m_Thresholds.length);
+    body.asIntBuffer().put(r.m_Attributes);
+    body.position(body.position() + 4 * r.m_Attributes.length);
+    body.asDoubleBuffer().put(r.m_KeyValues);
+
+    CRC32 crc = new CRC32();
+    crc.update(body.array(), 0, size);
+    ByteBuffer preamble = ByteBuffer.allocate(PREAMBLE_SIZE);
+    preamble.putInt(MAGIC);
+    preamble.putInt(VERSION);
+    preamble.putInt(size);
+    preamble.putInt((int)crc.getValue());
+    out.write(preamble.array());
+    out.write(body.array(), 0, size);
+    out.flush();
+  }
+
+  /**
+   * Reads a model from a file.
+   *
+   * @param fileName the name of the file
+   * @return the model
+   * @throws IOException if the file cannot be read or is not a valid model
+   */
+  public static ModelFile read(String fileName) throws IOException {
+
+    File file = new File(fileName);
+    InputStream in = new FileInputStream(file);
+    try {
+      return read(in, file.length() - PREAMBLE_SIZE);
+    } finally {
+      in.close();
+    }
+  }
+
+  /**
+   * Reads a model from a stream.
+   *
+   * @param in the stream, which is not closed
+   * @return the model
+   * @throws IOException if the stream cannot be read or does not hold a
+   * valid model
+   */
+  public static ModelFile read(InputStream in) throws IOException {
+    return read(in, -1);
+  }
+
+  /**
+   * Reads a model from a stream.
+   *
+   * @param in the stream, which is not closed
+   * @param available the number of bytes after the preamble, or -1 if unknown
+   * @return the model
+   * @throws IOException if the stream cannot be read or does not hold a
+   * valid model
+   */
+  private static ModelFile read(InputStream in, long available) throws IOException {
+
+    ByteBuffer preamble = ByteBuffer.wrap(readFully(in, new byte[PREAMBLE_SIZE]));
+    if (preamble.getInt() != MAGIC)
+      throw new IOException("Not an FRBDT model");
+    int version = preamble.getInt();
+    if (version != VERSION)
+      throw new IOException("Unsupported model version " + version);
+    int size = preamble.getInt();
+    int checksum = preamble.getInt();
+    if (size < 0 || (available >= 0 && size != available))
+      throw new IOException("Corrupt model: bad length");
+    // the length only comes from the file once the checksum is known
+    // to hold, so without a known length the body grows as it arrives
+    byte[] bytes = available >= 0 ? readFully(in, new byte[size])
+                                  : readGrowing(in, size);
+    CRC32 crc = new CRC32();
+    crc.update(bytes, 0, size);
+    if ((int)crc.getValue() != checksum)
+      throw new IOException("Corrupt model: checksum mismatch");
+
+    try {
+      ByteBuffer body = ByteBuffer.wrap(bytes);
+      double alpha = body.getDouble();
+      String relation = getString(body);
+      int classIndex = body.getInt();
+      int numAttributes = body.getInt();
+      FastVector atts = new FastVector(numAttributes);
+      for (int a = 0; a < numAttributes; a++) {
+        String name = getString(body);
+        if (body.get() == NOMINAL) {
+          int numValues = body.getInt();
+          FastVector values = new FastVector(numValues);
+          for (int v = 0; v < numValues; v++)
+            values.addElement(getString(body));
+          atts.addElement(new AttributeWeka(name, values, a));
+        } else {
+          atts.addElement(new AttributeWeka(name, a));
+        }
+      }
+      Instances header = new Instances(relation, atts, 0);
+      header.setClassIndex(classIndex);
+
+      int numClasses = body.getInt();
+      int numLayers = body.getInt();
+      int numRules = body.getInt();
+      int numAntds = body.getInt();
+      int[] layerStart = getInts(body, numLayers + 1);
+      int[] antdStart = getInts(body, numRules + 1);
+      int[] consequents = getInts(body, numRules);
+      double[] thresholds = getDoubles(body, numRules);
+      int[] attributes = getInts(body, numAntds);
+      double[] keyValues = getDoubles(body, 4 * numAntds);
+      check(layerStart, numRules, "layers");
+      check(antdStart, numAntds, "rules");
+      for (int i = 0; i < numRules; i++)
+        if (consequents[i] < 0 || consequents[i] >= numClasses)
+          throw new IOException("Corrupt model: consequent out of range");
+      for (int i = 0; i < numAntds; i++)
+        if (attributes[i] < 0 || attributes[i] >= numAttributes)
+          throw new IOException("Corrupt model: attribute out of range");
+
+      CompiledRuleset ruleset = new CompiledRuleset(numClasses, layerStart, antdStart,
+                                                    consequents, thresholds,
+                                                    attributes, keyValues);
+      return new ModelFile(header, ruleset, alpha);
+    } catch (RuntimeException e) {
+      // a buffer underflow or a negative size passed the checksum
+      throw new IOException("Corrupt model: " + e);
+    }
+  }
+
+  /**
+   * Checks that an array of starting positions goes from 0 to a given end
+   * without decreasing.
+   *
+   * @param start the starting positions
+   * @param end the last position
+   * @param what what the positions delimit, for the message
+   * @throws IOException if the positions are not valid
+   */
+  private static void check(int[] start, int end, String what) throws IOException {
+
+    if (start[0] != 0 || start[start.length - 1] != end)
+      throw new IOException("Corrupt model: bad bounds of the " + what);
+    for (int i = 1; i < start.length; i++)
+      if (start[i] < start[i - 1])
+        throw new IOException("Corrupt model: bad bounds of the " + what);
+  }
+
+  /**
+   * Reads an array of ints from a buffer.
+   *
+   * @param buffer the buffer
+   * @param n the number of ints
+   * @return the ints
+   */
+  private static int[] getInts(ByteBuffer buffer, int n) {
+
+    int[] values = new int[n];
+    buffer.asIntBuffer().get(values);
+    buffer.position(buffer.position() + 4 * n);
+    return values;
+  }
+
+  /**
+   * Reads an array of doubles from a buffer.
+   *
+   * @param buffer the buffer
+   * @param n the number of doubles
+   * @return the doubles
+   */
+  private static double[] getDoubles(ByteBuffer buffer, int n) {
+
+    double[] values = new double[n];
+    buffer.asDoubleBuffer().get(values);
+    buffer.position(buffer.position() + 8 * n);
+    return values;
+  }
+
+  /**
+   * Writes a string already encoded as its length and its bytes.
+   *
+   * @param buffer the buffer
+   * @param bytes the UTF-8 bytes of the string
+   */
+  private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+
+    buffer.putInt(bytes.length);
+    buffer.put(bytes);
+  }
+
+  /**
+   * Reads a string written by putBytes.
+   *
+   * @param buffer the buffer
+   * @return the string
+   * @throws IOException if the string cannot be decoded
+   */
+  private static String getString(ByteBuffer buffer) throws IOException {
+
+    int length = buffer.getInt();
+    if (length < 0 || length > buffer.remaining())
+      throw new IOException("Corrupt model: bad string length");
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, "UTF-8");
+  }
+
+  /**
+   * Fills an array from a stream.
+   *
+   * @param in the stream
+   * @param bytes the array
+   * @return the array
+   * @throws IOException if the stream ends before the array is full
+   */
+  private static byte[] readFully(InputStream in, byte[] bytes) throws IOException {
+
+    int done = 0;
+    while (done < bytes.length) {
+      int n = in.read(bytes, done, bytes.length - done);
+      if (n < 0)
+        throw new IOException("Truncated model");
+      done += n;
+    }
+    return bytes;
+  }
+
+  /**
+   * Reads a given number of bytes from a stream, enlarging the array only
+   * as the bytes arrive, so that a corrupt length does not allocate more
+   * than the stream holds.
+   *
+   * @param in the stream
+   * @param size the number of bytes
+   * @return an array of exactly size bytes
+   * @throws IOException if the stream ends before size bytes are read
+   */
+  private static byte[] readGrowing(InputStream in, int size) throws IOException {
+
+    byte[] bytes = new byte[Math.min(size, READ_CHUNK)];
+    int done = 0;
+    while (done < size) {
+      if (done == bytes.length)
+        bytes = Arrays.copyOf(bytes, (int)Math.min(size, 2L * bytes.length));
+      int n = in.read(bytes, done, bytes.length - done);
+      if (n < 0)
+        throw new IOException("Truncated model");
+      done += n;
+    }
+    return bytes;
+  }
+}
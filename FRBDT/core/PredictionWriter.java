@@ -0,0 +1,126 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+
+package keel.Algorithms.Decision_Trees.FRBDT.core;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Writes the output file of a classified data set: the header of the data
+ * file, then a "real predicted" line for each instance. The lines are
+ * written as the instances are classified, through a buffer and in UTF-8,
+ * so the whole output is never held in memory and class labels of any
+ * alphabet are kept.
+ */
+public class PredictionWriter {
+
+  /** The size of the buffer, in characters */
+  public static final int BUFFER_SIZE = 1 << 16;
+
+  /** The output */
+  private Writer m_Out;
+
+  /** The class attribute, for the lines given by class index */
+  private AttributeWeka m_Class;
+
+  /**
+   * Constructor. Creates the file and writes the header.
+   *
+   * @param fileName the name of the output file
+   * @param header the header of the data file
+   * @param classAtt the class attribute
+   * @throws IOException if the file cannot be created
+   */
+  public PredictionWriter(String fileName, String header, AttributeWeka classAtt)
+  throws IOException {
+
+    m_Out = new BufferedWriter(new OutputStreamWriter(
+        new FileOutputStream(fileName), "UTF-8"), BUFFER_SIZE);
+    m_Class = classAtt;
+    m_Out.write(header);
+  }
+
+  /**
+   * Writes the line of an instance.
+   *
+   * @param realClass the label of the real class
+   * @param predictedClass the label of the predicted class
+   * @throws IOException if the line cannot be written
+   */
+  public void write(String realClass, String predictedClass) throws IOException {
+
+    m_Out.write(realClass);
+    m_Out.write(' ');
+    m_Out.write(predictedClass);
+    m_Out.write('\n');
+  }
+
+  /**
+   * Writes the line of an instance given the indexes of its classes. A
+   * missing real class is written as "?", and unclassified instances go
+   * to the first class, as in FRBDT.execute.
+   *
+   * @param realClass the real class, -1 if it is missing
+   * @param predictedClass the predicted class, -1 if unclassified
+   * @throws IOException if the line cannot be written
+   */
+  public void write(int realClass, int predictedClass) throws IOException {
+
+    write(realClass < 0 ? "?" : m_Class.value(realClass),
+          m_Class.value(Math.max(predictedClass, 0)));
+  }
+
+  /**
+   * Writes the lines of a block of instances.
+   *
+   * @param block the instances
+   * @param predictions the predicted class of each one, -1 if unclassified
+   * @throws IOException if the lines cannot be written
+   */
+  public void write(ColumnarInstances block, int[] predictions) throws IOException {
+
+    for (int i = 0; i < block.numInstances(); i++)
+      write(block.classValue(i), predictions[i]);
+  }
+
+  /**
+   * Flushes the buffer and closes the file.
+   *
+   * @throws IOException if the file cannot be written
+   */
+  public void close() throws IOException {
+
+    m_Out.close();
+  }
+}
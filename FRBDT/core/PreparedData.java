@@ -0,0 +1,96 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+
+package keel.Algorithms.Decision_Trees.FRBDT.core;
+
+/**
+ * Training data prepared once for many trainings with different
+ * parameters, such as the trials of a parameter search. The first layer of
+ * every training sees the same rows, so its statistics and its sorted
+ * index are computed here once; each training copies the rows and the
+ * index, which it consumes, and reads the statistics, which it does not
+ * modify.
+ */
+public class PreparedData {
+
+  /** The training data, without missing classes */
+  protected ColumnarInstances m_Data;
+
+  /** The statistics of the first layer */
+  protected LayerStatistics m_Statistics;
+
+  /** The sorted index of the data, built when first needed */
+  protected SortedIndex m_Index;
+
+  /**
+   * Constructor.
+   *
+   * @param data the training data, which is not modified
+   */
+  public PreparedData(ColumnarInstances data) {
+
+    m_Data = data.copy();
+    m_Data.deleteWithMissingClass();
+    m_Statistics = new LayerStatistics(m_Data);
+  }
+
+  /**
+   * Returns the training data, which must not be modified
+   *
+   * @return the data
+   */
+  public ColumnarInstances data() {
+
+    return m_Data;
+  }
+
+  /**
+   * Returns the statistics of the first layer, which must not be modified
+   *
+   * @return the statistics
+   */
+  public LayerStatistics statistics() {
+
+    return m_Statistics;
+  }
+
+  /**
+   * Returns the sorted index of the data, building it on the first call.
+   * It must not be modified: the trainings use copies of it.
+   *
+   * @return the index
+   */
+  public synchronized SortedIndex index() {
+
+    if (m_Index == null)
+      m_Index = new SortedIndex(m_Data);
+    return m_Index;
+  }
+}
@@ -1,361 +1,841 @@
-/***********************************************************************
-
-	This file is part of KEEL-software, the Data Mining tool for regression, 
-	classification, clustering, pattern mining and so on.
-
-	Copyright (C) 2004-2010
-	
-	F. Herrera (herrera@decsai.ugr.es)
-    L. Sánchez (luciano@uniovi.es)
-    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
-    S. García (sglopez@ujaen.es)
-    A. Fernández (alberto.fernandez@ujaen.es)
-    J. Luengo (julianlm@decsai.ugr.es)
-
-	This program is free software: you can redistribute it and/or modify
-	it under the terms of the GNU General Public License as published by
-	the Free Software Foundation, either version 3 of the License, or
-	(at your option) any later version.
-
-	This program is distributed in the hope that it will be useful,
-	but WITHOUT ANY WARRANTY; without even the implied warranty of
-	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
-	GNU General Public License for more details.
-
-	You should have received a copy of the GNU General Public License
-	along with this program.  If not, see http://www.gnu.org/licenses/
-  
-**********************************************************************/
-
-package keel.Algorithms.Decision_Trees.FRBDT.core;
-
-import java.util.Enumeration;
-
-/**
- * This class implements a single rule that predicts specified class.  
- *
- * A rule consists of antecedents "AND"ed together and the consequent 
- * (class value) for the classification.  
- * In this class, the Information Gain (p*[log(p/t) - log(P/T)]) is used to
- * select an antecedent and Reduced Error Prunning (REP) with the metric
- * of accuracy rate p/(p+n) or (TP+TN)/(P+N) is used to prune the rule. 
- */    
-public class RipperRule extends Rule{
-  
-  /** for serialization */
-  static final long serialVersionUID = -2410020717305262952L;
-	
-  /** The internal representation of the class label to be predicted */
-  public double m_Consequent = -1;	
-		
-  /** The vector of antecedents of this rule*/
-  public FastVector m_Antds = null;
-
-  public double m_alpha=0.02;
-
-  public int m_maxAttUsed=5;
-
-  public double m_shreshold=0.6; 
-
-  /** The minimal number of instance weights within a split*/
-  double m_MinNo = 2.0;
-
-  /** Whether in a debug mode */
-  protected boolean m_Debug = false;
-
-  /** The class distribution of the training data*/
-  double[] aprioriDistribution;
-  
-  /** Constructor */
-  public RipperRule(){    
-    m_Antds = new FastVector();
-  }
-  
-  /** Constructor
-     * @param aprioriClassDistribution  apriori class distribution to be set.*/
-  public RipperRule(double [] aprioriClassDistribution){    
-    m_Antds = new FastVector();	
-    this.aprioriDistribution = aprioriClassDistribution.clone();
-  }
-	
-  /**
-   * Sets the internal representation of the class label to be predicted
-   * 
-   * @param cl the internal representation of the class label to be predicted
-   */
-  public void setConsequent(double cl) {
-    m_Consequent = cl; 
-  }
-  
-  /**
-   * Gets the internal representation of the class label to be predicted
-   * 
-   * @return the internal representation of the class label to be predicted
-   */
-  public double getConsequent() { 
-    return m_Consequent; 
-  }
-
-  public void setMaxAttUsed(int maxl){
-	m_maxAttUsed=maxl;
-  }
-
-  public int getMaxAttUsed(){ return m_maxAttUsed;}
-
-  public void setAlpha(double alpha){
-	m_alpha=alpha;
-  }
-
-  public double getAlpha(){return m_alpha;}
-
-  public void setShreshlod(double shreshold){
-	m_shreshold=shreshold;
-  }
-
-  public double getShreshold(){return m_shreshold;}
-	
-  /**
-   * Get a shallow copy of this rule
-   *
-   * @return the copy
-   */
-  public Object copy(){
-    RipperRule copy = new RipperRule();
-    copy.setConsequent(getConsequent());
-    copy.m_Antds = (FastVector)this.m_Antds.copyElements();
-    copy.aprioriDistribution = this.aprioriDistribution.clone();
-    return copy;
-  }
-	     
-	
-  /**
-   * Whether this rule has antecedents, i.e. whether it is a default rule
-   * 
-   * @return the boolean value indicating whether the rule has antecedents
-   */
-  public boolean hasAntds(){
-    if (m_Antds == null)
-	return false;
-    else
-	return (m_Antds.size() > 0);
-  }      
-	
-  /** 
-   * the number of antecedents of the rule
-   *
-   * @return the size of this rule
-   */
-  public double size(){ return (double)m_Antds.size(); }		
-
-	
-  /**
-   * Private function to compute default number of accurate instances
-   * in the specified data for the consequent of the rule
-   * 
-   * @param is an instance
-   * @return the average membership function of the instance in this rule
-   */
-  private double computeAverageMembershipDegree(Instance is, FastVector antds){ 
-    double aveMemDgre=0;
-    for(int i=0; i<antds.size(); i++){
-		Antd antdi = (Antd)antds.elementAt(i);
-		aveMemDgre+=antdi.getMembershipDgree(is);
-    }
-    return aveMemDgre/antds.size();
-  }
-
-  public double computeAverageMembershipDegree(Instance is){ 
-    double aveMemDgre=0;
-    for(int i=0; i<m_Antds.size(); i++){
-		Antd antdi = (Antd)m_Antds.elementAt(i);
-		aveMemDgre+=antdi.getMembershipDgree(is);
-    }
-    return aveMemDgre/m_Antds.size();
-  }
-
-  private double computeFuzzyConfidence (Instances data, FastVector antds) throws Exception{
-	if(m_Consequent == -1)
-	throw new Exception(" Consequent not set yet.");
-
-	Instances Data = data;
-	double fuzzyConCovered=0;
-	double fuzzyAll=0;
-	for (int i=0; i<Data.numInstances();i++){
-		Instance ins=Data.instance(i);
-		fuzzyAll+=computeAverageMembershipDegree(ins,antds);
-		if ((int)ins.classValue()==(int)m_Consequent){
-			fuzzyConCovered+=this.computeAverageMembershipDegree(ins,antds);
-		}
-	}
-	return fuzzyConCovered/fuzzyAll;
-  }
-
-  private FastVector computeAntdInitial(Instances data, AttributeWeka att){
-    FastVector antesIni = new FastVector();
-
-    int numClass =0;
-    for (int i=0;i<aprioriDistribution.length;i++){
-      if (aprioriDistribution[i]!=0){
-        numClass++;
-      }
-    }
-    int [] indexClassNotZero=new int[numClass];
-    double [] meanValues = new double [numClass];
-    int w=0;
-    for (int c=0;c<data.numClasses();c++){
-      if (aprioriDistribution[c]!=0){
-        indexClassNotZero[w]=c;
-        double [] attClassValues = new double [(int)aprioriDistribution[c]];
-        int j=0;
-        for (int i =0; i<data.numInstances();i++){
-          Instance ins = data.instance(i);
-          if ((int)ins.classValue()==c){
-            attClassValues[j]=ins.value(att);
-            j+=1;
-          }
-        }
-        meanValues[w]=Utils.mean(attClassValues);
-        w++;
-    }
-  }
-  if (meanValues.length==1){
-    double [] keyvalues={Double.NEGATIVE_INFINITY,Double.NEGATIVE_INFINITY,Double.POSITIVE_INFINITY,Double.POSITIVE_INFINITY};
-    Antd oneAntd=new Antd(keyvalues, att, indexClassNotZero[0]);
-    antesIni.addElement(oneAntd);
-  }else{
-    int [] sortIndex=Utils.sort(meanValues);
-    for (int i=0; i<numClass;i++){
-      if (i==0){
-        double [] keyvalues={Double.NEGATIVE_INFINITY,Double.NEGATIVE_INFINITY,meanValues[sortIndex[i]],meanValues[sortIndex[i+1]]};
-        Antd oneAntd=new Antd(keyvalues, att, indexClassNotZero[sortIndex[i]]);
-        antesIni.addElement(oneAntd);
-      }else if(i==numClass-1){
-        double [] keyvalues={meanValues[sortIndex[i-1]],meanValues[sortIndex[i]],Double.POSITIVE_INFINITY,Double.POSITIVE_INFINITY};
-        Antd oneAntd=new Antd(keyvalues, att, indexClassNotZero[sortIndex[i]]);
-        antesIni.addElement(oneAntd);
-      }else{
-        double [] keyvalues={meanValues[sortIndex[i-1]],meanValues[sortIndex[i]],meanValues[sortIndex[i]],meanValues[sortIndex[i+1]]};
-        Antd oneAntd=new Antd(keyvalues, att, indexClassNotZero[sortIndex[i]]);
-        antesIni.addElement(oneAntd);
-      }
-    }
-  }
-  return antesIni;
-  }
-	
-  /**
-   * Build one rule using the growing data
-   *
-   * @param data the growing data used to build the rule
-   * @throws Exception if the consequent is not set yet
-   */    
-    public void grow(Instances data) throws Exception {
-    if(m_Consequent == -1)
-	throw new Exception(" Consequent not set yet.");
-	    
-    Instances growData = data;	         
-    double sumOfWeights = growData.sumOfWeights();
-    if(!Utils.gr(sumOfWeights, 0.0))
-	return;
-	
-    /* Keep the record of which attributes have already been used*/    
-    boolean[] used=new boolean [growData.numAttributes()];
-    for (int k=0; k<used.length; k++)
-	used[k]=false;
-    int numUnused=m_maxAttUsed;//用到的属性数量
-
-	double maxFConfFirst=0;
-	
-	FastVector AntdsFir=new FastVector();
-	while (Utils.gr(growData.numInstances(), 0.0)){ 	    
-	double maxFConfSecond=0;
-	/* Build a list of antecedents */
-	Enumeration enumAttr=growData.enumerateAttributes();	      
-	
-	FastVector antdsSed =new FastVector();
-	/* Find the max fuzzy confidence of each attribute*/
-	while (enumAttr.hasMoreElements()){
-	  AttributeWeka att= (AttributeWeka)(enumAttr.nextElement());
-	  
-	  if(m_Debug)
-	    System.err.println("\nOne condition: size = " 
-			       + growData.sumOfWeights());
-		    
-	  if(!used[att.index()]){//the attribute's index 没有用到.
-	    /* Compute the best information gain for each attribute,
-	       it's stored in the antecedent formed by this attribute.
-	       This procedure returns the data covered by the antecedent*/
-		Antd antd=null;
-		FastVector antdsIni=computeAntdInitial(growData, att);
-		for (int i=0;i<antdsIni.size();i++){
-			Antd antdIni = (Antd) antdsIni.elementAt(i);
-			if (antdIni.getClassIndex()==m_Consequent){
-				antd=antdIni;
-        break;
-			}
-		}
-		FastVector oneAntds= (FastVector)AntdsFir.copy();
-		oneAntds.addElement(antd);
-
-		double fuzzyConf=computeFuzzyConfidence(growData,oneAntds);  
-	    if(fuzzyConf>=maxFConfSecond){         
-			antdsSed=oneAntds;  
-			maxFConfSecond=fuzzyConf;
-	    }		    
-	  }
-	}
-
-	if(antdsSed.size() == 0) break; // Cannot find antds
-	if (maxFConfFirst-maxFConfSecond>=m_alpha){
-		m_Antds=AntdsFir;
-		break;
-	}
-	else if(numUnused==1){
-		m_Antds=antdsSed;
-		break;
-	}else{
-		maxFConfFirst=maxFConfSecond;
-		Antd lastAntd=(Antd) antdsSed.lastElement();
-		used[lastAntd.getAttr().index()]=true;
-		numUnused--;
-		AntdsFir=antdsSed;
-
-	}
-    }
-  }
-
-  /**
-   * Prints this rule
-   *
-   * @param classAttr the class attribute in the data
-   * @return a textual description of this rule
-   */
-  public String toString(AttributeWeka classAttr) {
-    StringBuffer text =  new StringBuffer();
-    if(m_Antds.size() > 0){
-	for(int j=0; j< (m_Antds.size()-1); j++)
-	  text.append("(" + ((Antd)(m_Antds.elementAt(j))).toString()+ ") and ");
-	text.append("("+((Antd)(m_Antds.lastElement())).toString() + ")");
-    }
-    text.append(" => " + classAttr.name() +
-		  "=" + classAttr.value((int)m_Consequent));
-	    
-    return text.toString();
-  }
-
-    /**
-     * String "1.0"
-     * @return "1.0"
-     */
-    public String getRevision() {
-    return "1.0";
-  }
-
-  public boolean covers(Instance datum){ 
-    if (computeAverageMembershipDegree(datum,m_Antds) <m_shreshold){
-	return false;
-    }else{
-	return true;
-    }
-  }  
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+package keel.Algorithms.Decision_Trees.FRBDT.core;
+
+import java.util.Enumeration;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class implements a single rule that predicts specified class.  
+ *
+ * A rule consists of antecedents "AND"ed together and the consequent 
+ * (class value) for the classification.  
+ * In this class, the Information Gain (p*[log(p/t) - log(P/T)]) is used to
+ * select an antecedent and Reduced Error Prunning (REP) with the metric
+ * of accuracy rate p/(p+n) or (TP+TN)/(P+N) is used to prune the rule. 
+ */    
+public class RipperRule extends Rule{
+  
+  /** for serialization */
+  static final long serialVersionUID = -2410020717305262952L;
+	
+  /** The internal representation of the class label to be predicted */
+  public double m_Consequent = -1;	
+		
+  /** The vector of antecedents of this rule*/
+  public AntdList m_Antds = null;
+
+  public double m_alpha=0.02;
+
+  public int m_maxAttUsed=5;
+
+  public double m_shreshold=0.6; 
+
+  /** The minimal number of instance weights within a split*/
+  double m_MinNo = 2.0;
+
+  /** Whether in a debug mode */
+  protected boolean m_Debug = false;
+
+  /** The pool that scores the candidate attributes, null to score them serially */
+  protected transient ForkJoinPool m_Pool = null;
+
+  /** Whether the scan of a candidate stops once it cannot beat the best one */
+  protected boolean m_EarlyExit = true;
+
+  /** The sorted index of the growing data, null to scan all the rows */
+  protected transient SortedIndex m_Index = null;
+
+  /** The number of steps of the last grow, one per antecedent tried */
+  protected transient int m_NumSteps;
+
+  /** The number of candidate antecedents scored by the last grow */
+  protected transient int m_NumCandidates;
+
+  /** The number of those candidates whose scan stopped early */
+  protected transient int m_NumPruned;
+
+  /** The number of instances scanned between two checks of the bound */
+  protected static final int BOUND_BLOCK = 1024;
+
+  /** The weights of the growing data, or null if they are all 1 and the
+      unweighted sums are used */
+  private transient double[] m_Weights;
+
+  /** The growing data if it is sparse, null otherwise */
+  private transient SparseColumnarInstances m_Sparse;
+
+  /** The sum of the weights of the growing data */
+  private transient double m_SumOfWeights;
+
+  /** The sum of the weights of the growing data of the consequent class */
+  private transient double m_ConsequentWeight;
+
+  /** The best fuzzy confidence found so far in the current grow step,
+      shared by the threads that score the candidates */
+  private transient volatile double m_BestFConf;
+  
+  /** Constructor */
+  public RipperRule(){    
+    m_Antds = new AntdList();
+  }
+  
+	
+  /**
+   * Sets the internal representation of the class label to be predicted
+   * 
+   * @param cl the internal representation of the class label to be predicted
+   */
+  public void setConsequent(double cl) {
+    m_Consequent = cl; 
+  }
+  
+  /**
+   * Gets the internal representation of the class label to be predicted
+   * 
+   * @return the internal representation of the class label to be predicted
+   */
+  public double getConsequent() { 
+    return m_Consequent; 
+  }
+
+  public void setMaxAttUsed(int maxl){
+	m_maxAttUsed=maxl;
+  }
+
+  public int getMaxAttUsed(){ return m_maxAttUsed;}
+
+  public void setAlpha(double alpha){
+	m_alpha=alpha;
+  }
+
+  public double getAlpha(){return m_alpha;}
+
+  public void setShreshlod(double shreshold){
+	m_shreshold=shreshold;
+  }
+
+  public double getShreshold(){return m_shreshold;}
+
+  /**
+   * Sets the pool used to score the candidate attributes of each grow step
+   * in parallel
+   *
+   * @param pool the pool, or null to score the candidates serially
+   */
+  public void setPool(ForkJoinPool pool){
+	m_Pool=pool;
+  }
+
+  /**
+   * Sets whether the scan of a candidate antecedent stops as soon as its
+   * fuzzy confidence is bound to be lower than the best one found so far.
+   * The rule grown is the same either way.
+   *
+   * @param earlyExit true to stop the hopeless scans
+   */
+  public void setEarlyExit(boolean earlyExit){
+	m_EarlyExit=earlyExit;
+  }
+
+  public boolean getEarlyExit(){return m_EarlyExit;}
+
+  /**
+   * Sets the sorted index of the data the rule is grown on, so that each
+   * candidate antecedent is only evaluated on the rows of its support. The
+   * sums are then accumulated in another order, so the confidences may
+   * differ from a full scan in the last bits.
+   *
+   * @param index the index of the growing data, or null to scan all the rows
+   */
+  public void setSortedIndex(SortedIndex index){
+	m_Index=index;
+  }
+
+  /**
+   * Returns the number of steps of the last grow, one per antecedent tried
+   *
+   * @return the number of steps
+   */
+  public int getNumSteps(){return m_NumSteps;}
+
+  /**
+   * Returns the number of candidate antecedents scored by the last grow
+   *
+   * @return the number of candidates
+   */
+  public int getNumCandidates(){return m_NumCandidates;}
+
+  /**
+   * Returns the number of candidates of the last grow whose scan stopped
+   * early
+   *
+   * @return the number of candidates stopped
+   */
+  public int getNumPruned(){return m_NumPruned;}
+	
+  /**
+   * Get a shallow copy of this rule
+   *
+   * @return the copy
+   */
+  public Object copy(){
+    RipperRule copy = new RipperRule();
+    copy.setConsequent(getConsequent());
+    copy.m_Antds = this.m_Antds.copyElements();
+    return copy;
+  }
+	     
+	
+  /**
+   * Whether this rule has antecedents, i.e. whether it is a default rule
+   * 
+   * @return the boolean value indicating whether the rule has antecedents
+   */
+  public boolean hasAntds(){
+    if (m_Antds == null)
+	return false;
+    else
+	return (m_Antds.size() > 0);
+  }      
+	
+  /** 
+   * the number of antecedents of the rule
+   *
+   * @return the size of this rule
+   */
+  public double size(){ return (double)m_Antds.size(); }		
+
+	
+  /**
+   * Private function to compute default number of accurate instances
+   * in the specified data for the consequent of the rule
+   * 
+   * @param is an instance
+   * @return the average membership function of the instance in this rule
+   */
+  private double computeAverageMembershipDegree(Instance is, AntdList antds){ 
+    double aveMemDgre=0;
+    for(int i=0; i<antds.size(); i++){
+		Antd antdi = antds.get(i);
+		aveMemDgre+=antdi.getMembershipDgree(is);
+    }
+    return aveMemDgre/antds.size();
+  }
+
+  public double computeAverageMembershipDegree(Instance is){ 
+    double aveMemDgre=0;
+    for(int i=0; i<m_Antds.size(); i++){
+		Antd antdi = m_Antds.get(i);
+		aveMemDgre+=antdi.getMembershipDgree(is);
+    }
+    return aveMemDgre/m_Antds.size();
+  }
+
+  /**
+   * Computes the average membership degree of one instance of a columnar
+   * set to the given antecedents
+   *
+   * @param data the set of instances
+   * @param row the position of the instance
+   * @param antds the antecedents
+   * @return the average membership degree
+   */
+  private double computeAverageMembershipDegree(ColumnarInstances data, int row, AntdList antds){ 
+    double aveMemDgre=0;
+    for(int i=0; i<antds.size(); i++){
+		Antd antdi = antds.get(i);
+		aveMemDgre+=antdi.getMembershipDgree(data.value(row, antdi.att.index()));
+    }
+    return aveMemDgre/antds.size();
+  }
+
+  /**
+   * Computes the average membership degree of one instance of a columnar
+   * set to the antecedents of this rule
+   *
+   * @param data the set of instances
+   * @param row the position of the instance
+   * @return the average membership degree
+   */
+  public double computeAverageMembershipDegree(ColumnarInstances data, int row){ 
+    return computeAverageMembershipDegree(data, row, m_Antds);
+  }
+
+  /**
+   * Computes the fuzzy confidence of the antecedents already accepted in
+   * the rule extended with one more antecedent. The sums of the membership
+   * degrees of each instance to the accepted antecedents are given, so only
+   * the new antecedent is evaluated, once per instance. On weighted data
+   * every degree counts with the weight of its instance.
+   *
+   * If an upper bound of the remaining contributions of the consequent
+   * class is given, the scan is checked against it every BOUND_BLOCK
+   * instances: with the covered sum C, the total sum A and at most R still
+   * to come from the class, the confidence cannot exceed (C+R)/(A+R), and
+   * the scan stops when that is smaller than the best confidence found so
+   * far by any candidate of the step.
+   *
+   * @param data the growing data
+   * @param memberships the sum of the membership degrees of each instance to
+   * the accepted antecedents
+   * @param numAntds the number of antecedents, the new one included
+   * @param antd the new antecedent
+   * @param remaining the upper bound of the contributions of the consequent
+   * class from the start of each block on, or null to scan all the data
+   * @param base the sums of the accepted antecedents when the sorted index
+   * is used or the data is sparse, see baseSums(), or null
+   * @return the fuzzy confidence of the extended antecedents, or negative
+   * infinity if the scan was stopped
+   * @throws Exception if the consequent is not set yet
+   */
+  private double computeFuzzyConfidence (ColumnarInstances data, double[] memberships,
+					 int numAntds, Antd antd, double[] remaining,
+					 double[] base) throws Exception{
+	if(m_Consequent == -1)
+	throw new Exception(" Consequent not set yet.");
+	if (base != null && m_Sparse != null)
+	  return computeSparseFuzzyConfidence(numAntds, antd, base);
+	if (base != null)
+	  return computeFuzzyConfidence(data, numAntds, antd, base);
+
+	ColumnarInstances Data = data;
+	double[] column = Data.column(antd.att.index());
+	int[] classes = Data.classes();
+	int consequent = (int)m_Consequent;
+	int numInstances = Data.numInstances();
+	double fuzzyConCovered=0;
+	double fuzzyAll=0;
+	double[] weights = m_Weights;
+	for (int start=0, block=1; start<numInstances; start+=BOUND_BLOCK, block++){
+		int end=Math.min(start+BOUND_BLOCK, numInstances);
+		if (weights == null){
+			for (int i=start; i<end;i++){
+				double aveMemDgre=(memberships[i]+antd.getMembershipDgree(column[i]))/numAntds;
+				fuzzyAll+=aveMemDgre;
+				if (classes[i]==consequent){
+					fuzzyConCovered+=aveMemDgre;
+				}
+			}
+		}else{
+			for (int i=start; i<end;i++){
+				double aveMemDgre=weights[i]*(memberships[i]+antd.getMembershipDgree(column[i]))/numAntds;
+				fuzzyAll+=aveMemDgre;
+				if (classes[i]==consequent){
+					fuzzyConCovered+=aveMemDgre;
+				}
+			}
+		}
+		if (remaining != null && end < numInstances){
+			double bound=(fuzzyConCovered+remaining[block])/(fuzzyAll+remaining[block]);
+			if (Utils.sm(bound, m_BestFConf))
+				return Double.NEGATIVE_INFINITY;
+		}
+	}
+	double fuzzyConf=fuzzyConCovered/fuzzyAll;
+	if (fuzzyConf > m_BestFConf)
+		m_BestFConf=fuzzyConf;
+	return fuzzyConf;
+  }
+
+  /**
+   * Computes the fuzzy confidence of the accepted antecedents extended with
+   * a new one through the sorted index. Outside the support of the new
+   * antecedent, [keyvalues[0], keyvalues[3]], its membership degree is 0
+   * and the average of an instance is that of the accepted antecedents,
+   * already summed up in base; only the rows inside the support are read.
+   *
+   * @param data the growing data
+   * @param numAntds the number of antecedents, the new one included
+   * @param antd the new antecedent
+   * @param base the sums of the average membership degrees to the accepted
+   * antecedents, of the consequent class and of all the instances
+   * @return the fuzzy confidence of the extended antecedents
+   */
+  private double computeFuzzyConfidence (ColumnarInstances data, int numAntds,
+					 Antd antd, double[] base){
+	int att = antd.att.index();
+	double[] keyvalues = antd.getkeyvalues();
+	int from = m_Index.lowerBound(att, keyvalues[0]);
+	int to = m_Index.upperBound(att, keyvalues[3]);
+	int[] rows = m_Index.rows(att);
+	double[] values = m_Index.values(att);
+	int[] classes = data.classes();
+	int consequent = (int)m_Consequent;
+	double[] weights = m_Weights;
+	double fuzzyConCovered=0;
+	double fuzzyAll=0;
+	if (weights == null){
+		for (int p=from; p<to; p++){
+			double memDgre=antd.getMembershipDgree(values[p])/numAntds;
+			fuzzyAll+=memDgre;
+			if (classes[rows[p]]==consequent){
+				fuzzyConCovered+=memDgre;
+			}
+		}
+	}else{
+		for (int p=from; p<to; p++){
+			double memDgre=weights[rows[p]]*antd.getMembershipDgree(values[p])/numAntds;
+			fuzzyAll+=memDgre;
+			if (classes[rows[p]]==consequent){
+				fuzzyConCovered+=memDgre;
+			}
+		}
+	}
+	double fuzzyConf=(base[0]+fuzzyConCovered)/(base[1]+fuzzyAll);
+	if (fuzzyConf > m_BestFConf)
+		m_BestFConf=fuzzyConf;
+	return fuzzyConf;
+  }
+
+  /**
+   * Computes the fuzzy confidence of the accepted antecedents extended with
+   * a new one on sparse data. Every instance without a stored value of the
+   * attribute has the membership degree of 0, computed once for the
+   * antecedent: their contribution is that degree times their weight,
+   * which is the total weight minus that of the instances with a value.
+   * Only the non-zero values of the attribute are read, so the sums are
+   * accumulated in another order and may differ from a full scan in the
+   * last bits.
+   *
+   * @param numAntds the number of antecedents, the new one included
+   * @param antd the new antecedent
+   * @param base the sums of the average membership degrees to the accepted
+   * antecedents, of the consequent class and of all the instances
+   * @return the fuzzy confidence of the extended antecedents
+   */
+  private double computeSparseFuzzyConfidence (int numAntds, Antd antd, double[] base){
+	int att = antd.att.index();
+	int size = m_Sparse.numNonZero(att);
+	int[] rows = m_Sparse.nonZeroRows(att);
+	double[] values = m_Sparse.nonZeroValues(att);
+	int[] classes = m_Sparse.classes();
+	int consequent = (int)m_Consequent;
+	double[] weights = m_Weights;
+	double fuzzyConCovered=0;
+	double fuzzyAll=0;
+	double weightConCovered=0;
+	double weightAll=0;
+	if (weights == null){
+		for (int p=0; p<size; p++){
+			double memDgre=antd.getMembershipDgree(values[p]);
+			fuzzyAll+=memDgre;
+			weightAll++;
+			if (classes[rows[p]]==consequent){
+				fuzzyConCovered+=memDgre;
+				weightConCovered++;
+			}
+		}
+	}else{
+		for (int p=0; p<size; p++){
+			double weight=weights[rows[p]];
+			double memDgre=weight*antd.getMembershipDgree(values[p]);
+			fuzzyAll+=memDgre;
+			weightAll+=weight;
+			if (classes[rows[p]]==consequent){
+				fuzzyConCovered+=memDgre;
+				weightConCovered+=weight;
+			}
+		}
+	}
+	double zeroDgre=antd.getZeroMembershipDgree();
+	if (zeroDgre != 0){
+		fuzzyConCovered+=zeroDgre*(m_ConsequentWeight-weightConCovered);
+		fuzzyAll+=zeroDgre*(m_SumOfWeights-weightAll);
+	}
+	double fuzzyConf=(base[0]+fuzzyConCovered/numAntds)/(base[1]+fuzzyAll/numAntds);
+	if (fuzzyConf > m_BestFConf)
+		m_BestFConf=fuzzyConf;
+	return fuzzyConf;
+  }
+
+  /**
+   * Sums the average membership degrees of the instances to the accepted
+   * antecedents, as if the new one did not cover them. The sum over the
+   * consequent class only visits the rows of the class.
+   *
+   * @param data the growing data
+   * @param stats the statistics of the growing data
+   * @param memberships the sum of the membership degrees of each instance to
+   * the accepted antecedents
+   * @param numAntds the number of antecedents, the new one included
+   * @return the sum over the consequent class and the sum over all the
+   * instances
+   */
+  private double[] baseSums(ColumnarInstances data, LayerStatistics stats,
+			    double[] memberships, int numAntds){
+	double[] base = new double[2];
+	if (numAntds == 1)
+	  return base;
+	double[] weights = m_Weights;
+	int[] rows = stats.classRows();
+	int consequent = (int)m_Consequent;
+	if (weights == null){
+		for (int i=0; i<data.numInstances(); i++)
+			base[1]+=memberships[i]/numAntds;
+		for (int p=stats.classRowsStart(consequent); p<stats.classRowsEnd(consequent); p++)
+			base[0]+=memberships[rows[p]]/numAntds;
+	}else{
+		for (int i=0; i<data.numInstances(); i++)
+			base[1]+=weights[i]*memberships[i]/numAntds;
+		for (int p=stats.classRowsStart(consequent); p<stats.classRowsEnd(consequent); p++)
+			base[0]+=weights[rows[p]]*memberships[rows[p]]/numAntds;
+	}
+	return base;
+  }
+
+  /**
+   * Computes, for the start of each block of BOUND_BLOCK instances, the
+   * largest possible sum of the average membership degrees of the instances
+   * of the consequent class from there on, reached when the new antecedent
+   * fully covers them. Only the rows of the consequent class are visited.
+   *
+   * @param data the growing data
+   * @param stats the statistics of the growing data
+   * @param memberships the sum of the membership degrees of each instance to
+   * the accepted antecedents
+   * @param numAntds the number of antecedents, the new one included
+   * @return the bound of each block
+   */
+  private double[] remainingBounds(ColumnarInstances data, LayerStatistics stats,
+				   double[] memberships, int numAntds){
+	int numInstances = data.numInstances();
+	int numBlocks = (numInstances + BOUND_BLOCK - 1) / BOUND_BLOCK;
+	double[] remaining = new double[numBlocks + 1];
+	int[] rows = stats.classRows();
+	int consequent = (int)m_Consequent;
+	int first = stats.classRowsStart(consequent);
+	int end = stats.classRowsEnd(consequent);
+	double[] weights = m_Weights;
+	for (int block=numBlocks-1; block>=0; block--){
+		double sum=remaining[block+1];
+		/* the rows of the class in this block, in increasing order */
+		int start=end;
+		while (start>first && rows[start-1]>=block*BOUND_BLOCK)
+			start--;
+		if (weights == null){
+			for (int p=start; p<end; p++)
+				sum+=(memberships[rows[p]]+1)/numAntds;
+		}else{
+			for (int p=start; p<end; p++)
+				sum+=weights[rows[p]]*(memberships[rows[p]]+1)/numAntds;
+		}
+		end=start;
+		remaining[block]=sum;
+	}
+	return remaining;
+  }
+
+  /**
+   * Builds the initial antecedent of the consequent class on the given
+   * attribute, a trapezoid centred at the mean of the class and bounded by
+   * the means of the neighbouring classes.
+   *
+   * @param stats the statistics of the growing data
+   * @param att the attribute of the antecedent
+   * @return the antecedent, or null if there is no data of the consequent
+   */
+  private Antd computeAntdInitial(LayerStatistics stats, AttributeWeka att){
+    double [] keyvalues=stats.keyValues(att.index(), (int)m_Consequent);
+    if (keyvalues==null)
+      return null;
+    return new Antd(keyvalues, att, m_Consequent);
+  }
+	
+  /**
+   * Build one rule using the growing data
+   *
+   * @param data the growing data used to build the rule
+   * @throws Exception if the consequent is not set yet
+   */    
+    public void grow(Instances data) throws Exception {
+    grow(new ColumnarInstances(data));
+  }
+
+  /**
+   * Build one rule using the growing data, in columnar form
+   *
+   * @param data the growing data used to build the rule
+   * @throws Exception if the consequent is not set yet
+   */    
+  public void grow(ColumnarInstances data) throws Exception {
+    grow(data, new LayerStatistics(data));
+  }
+
+  /**
+   * Build one rule using the growing data and its precomputed statistics,
+   * which may be shared by all the rules grown on the same data
+   *
+   * @param data the growing data used to build the rule
+   * @param stats the statistics of the growing data
+   * @throws Exception if the consequent is not set yet
+   */    
+  public void grow(ColumnarInstances data, LayerStatistics stats) throws Exception {
+    if(m_Consequent == -1)
+	throw new Exception(" Consequent not set yet.");
+	    
+    ColumnarInstances growData = data;	         
+    m_NumSteps=0;
+    m_NumCandidates=0;
+    m_NumPruned=0;
+    /* the weights only enter the sums if some of them is not 1 */
+    m_Weights=stats.isWeighted() ? growData.weights() : null;
+    /* sparse data is scanned through the non-zero values of each attribute */
+    m_Sparse=growData.isSparse() ? (SparseColumnarInstances)growData : null;
+    double sumOfWeights = 0;
+    for (int c=0; c<stats.numClasses(); c++)
+	sumOfWeights += stats.classWeight(c);
+    m_SumOfWeights=sumOfWeights;
+    m_ConsequentWeight=stats.classWeight((int)m_Consequent);
+    if(!Utils.gr(sumOfWeights, 0.0))
+	return;
+	
+    /* Keep the record of which attributes have already been used*/    
+    boolean[] used=new boolean [growData.numAttributes()];
+    for (int k=0; k<used.length; k++)
+	used[k]=false;
+    int numUnused=m_maxAttUsed;//用到的属性数量
+
+	double maxFConfFirst=0;
+	
+	/* The antecedents accepted so far; the best candidate of each step is
+	   appended to them, and dropped again if it does not improve the rule */
+	AntdList antds=new AntdList(m_maxAttUsed);
+	/* The sum of the membership degrees of each instance to antds,
+	   accumulated in the same order as computeAverageMembershipDegree */
+	double[] memberships=new double[growData.numInstances()];
+	while (Utils.gr(growData.numInstances(), 0.0)){ 	    
+	double maxFConfSecond=0;
+	/* Build a list of antecedents */
+	Enumeration enumAttr=growData.enumerateAttributes();	      
+	
+	/* The candidate antecedents, one per unused attribute*/
+	AntdList candidates=new AntdList(growData.numAttributes());
+	while (enumAttr.hasMoreElements()){
+	  AttributeWeka att= (AttributeWeka)(enumAttr.nextElement());
+	  
+	  if(m_Debug)
+	    System.err.println("\nOne condition: size = " 
+			       + growData.sumOfWeights());
+		    
+	  if(!used[att.index()]){//the attribute's index 没有用到.
+	    /* Compute the best information gain for each attribute,
+	       it's stored in the antecedent formed by this attribute.
+	       This procedure returns the data covered by the antecedent*/
+		candidates.add(computeAntdInitial(stats, att));
+	  }
+	}
+
+	/* Find the max fuzzy confidence of each attribute. A candidate whose
+	   scan is stopped early cannot reach the confidence of another one, so
+	   it is not the best, whatever the order the candidates are scored in */
+	int numAntds=antds.size()+1;
+	double[] fuzzyConfs=new double[candidates.size()];
+	double[] remaining=null;
+	double[] base=null;
+	if (m_Index != null || m_Sparse != null)
+	  base=baseSums(growData, stats, memberships, numAntds);
+	else if (m_EarlyExit && candidates.size() > 1 && growData.numInstances() > BOUND_BLOCK)
+	  remaining=remainingBounds(growData, stats, memberships, numAntds);
+	m_BestFConf=0;
+	if (m_Pool != null && candidates.size() > 1){
+	  CandidateTask task=new CandidateTask(growData, memberships, numAntds, remaining,
+					       base, candidates, fuzzyConfs, 0, candidates.size());
+	  if (ForkJoinTask.getPool() == m_Pool)
+	    task.invoke();
+	  else
+	    m_Pool.invoke(task);
+	}else{
+	  for (int i=0; i<candidates.size(); i++)
+	    fuzzyConfs[i]=computeFuzzyConfidence(growData,memberships,numAntds,
+						 candidates.get(i),remaining,base);
+	}
+	m_NumSteps++;
+	m_NumCandidates+=candidates.size();
+	/* the last of the best candidates wins, in attribute order */
+	Antd bestAntd=null;
+	for (int i=0; i<candidates.size(); i++){
+	    double fuzzyConf=fuzzyConfs[i];
+	    if (fuzzyConf==Double.NEGATIVE_INFINITY)
+		m_NumPruned++;
+	    if(fuzzyConf>=maxFConfSecond){         
+			bestAntd=candidates.get(i);  
+			maxFConfSecond=fuzzyConf;
+	    }		    
+	}
+	if(bestAntd == null) break; // Cannot find antds
+	antds.add(bestAntd);
+	if (maxFConfFirst-maxFConfSecond>=m_alpha){
+		antds.truncate(antds.size()-1);
+		m_Antds=antds;
+		break;
+	}
+	else if(numUnused==1){
+		m_Antds=antds;
+		break;
+	}else{
+		maxFConfFirst=maxFConfSecond;
+		used[bestAntd.getAttr().index()]=true;
+		numUnused--;
+		if (m_Sparse != null){
+		    addSparseMemberships(bestAntd, memberships);
+		}else{
+		    double[] column=growData.column(bestAntd.att.index());
+		    for (int i=0; i<growData.numInstances(); i++)
+			memberships[i]+=bestAntd.getMembershipDgree(column[i]);
+		}
+
+	}
+    }
+  }
+
+  /**
+   * Adds the membership degree of every instance of the sparse growing
+   * data to an accepted antecedent, walking the non-zero values of its
+   * attribute along the rows; the rows in between get the degree of 0,
+   * computed once.
+   *
+   * @param antd the accepted antecedent
+   * @param memberships the sum of the membership degrees of each instance,
+   * updated
+   */
+  private void addSparseMemberships(Antd antd, double[] memberships){
+	int att = antd.att.index();
+	int size = m_Sparse.numNonZero(att);
+	int[] rows = m_Sparse.nonZeroRows(att);
+	double[] values = m_Sparse.nonZeroValues(att);
+	double zeroDgre = antd.getZeroMembershipDgree();
+	int numInstances = m_Sparse.numInstances();
+	for (int i=0, p=0; i<numInstances; i++){
+		if (p<size && rows[p]==i)
+			memberships[i]+=antd.getMembershipDgree(values[p++]);
+		else
+			memberships[i]+=zeroDgre;
+	}
+  }
+
+  /**
+   * Computes the fuzzy confidence of a range of candidate antecedents,
+   * splitting the range in halves among the threads of the pool
+   */
+  private class CandidateTask extends RecursiveAction {
+
+    /** for serialization */
+    static final long serialVersionUID = -3405113623479214211L;
+
+    private ColumnarInstances data;
+    private double[] memberships;
+    private int numAntds;
+    private double[] remaining;
+    private double[] base;
+    private AntdList candidates;
+    private double[] fuzzyConfs;
+    private int from, to;
+
+    CandidateTask(ColumnarInstances data, double[] memberships, int numAntds,
+		  double[] remaining, double[] base, AntdList candidates,
+		  double[] fuzzyConfs, int from, int to){
+      this.data=data;
+      this.memberships=memberships;
+      this.numAntds=numAntds;
+      this.remaining=remaining;
+      this.base=base;
+      this.candidates=candidates;
+      this.fuzzyConfs=fuzzyConfs;
+      this.from=from;
+      this.to=to;
+    }
+
+    protected void compute(){
+      if (to-from > 1){
+	int mid=(from+to)>>>1;
+	invokeAll(new CandidateTask(data, memberships, numAntds, remaining, base,
+				    candidates, fuzzyConfs, from, mid),
+		  new CandidateTask(data, memberships, numAntds, remaining, base,
+				    candidates, fuzzyConfs, mid, to));
+	return;
+      }
+      try {
+	fuzzyConfs[from]=computeFuzzyConfidence(data, memberships, numAntds,
+						candidates.get(from), remaining, base);
+      } catch (Exception e) {
+	throw new RuntimeException(e);
+      }
+    }
+  }
+
+  /**
+   * Prints this rule
+   *
+   * @param classAttr the class attribute in the data
+   * @return a textual description of this rule
+   */
+  public String toString(AttributeWeka classAttr) {
+    StringBuffer text =  new StringBuffer();
+    if(m_Antds.size() > 0){
+	for(int j=0; j< (m_Antds.size()-1); j++)
+	  text.append("(" + m_Antds.get(j).toString()+ ") and ");
+	text.append("("+m_Antds.last().toString() + ")");
+    }
+    text.append(" => " + classAttr.name() +
+		  "=" + classAttr.value((int)m_Consequent));
+	    
+    return text.toString();
+  }
+
+    /**
+     * String "1.0"
+     * @return "1.0"
+     */
+    public String getRevision() {
+    return "1.0";
+  }
+
+  public boolean covers(Instance datum){ 
+    if (computeAverageMembershipDegree(datum,m_Antds) <m_shreshold){
+	return false;
+    }else{
+	return true;
+    }
+  }  
+
+  /**
+   * Whether an instance of a columnar set is covered by this rule
+   *
+   * @param data the set of instances
+   * @param row the position of the instance
+   * @return false only if its average membership degree is below the threshold
+   */
+  public boolean covers(ColumnarInstances data, int row){ 
+    return !(computeAverageMembershipDegree(data,row,m_Antds) < m_shreshold);
+  }  
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+package keel.Algorithms.Decision_Trees.FRBDT.core;
+
+import java.io.Serializable;
+
+/**
+ * A growable list of rules, the typed replacement of FastVector for the
+ * rules of one layer.
+ */
+public class RuleList implements Serializable {
+
+  /** for serialization */
+  private static final long serialVersionUID = -4690870313417316275L;
+
+  /** The rules */
+  private RipperRule[] m_Rules;
+
+  /** The number of rules in the list */
+  private int m_Size;
+
+  /**
+   * Constructs an empty list.
+   */
+  public RuleList() {
+    m_Rules = new RipperRule[4];
+  }
+
+  /**
+   * Appends a rule, growing the list if needed.
+   *
+   * @param rule the rule
+   */
+  public void add(RipperRule rule) {
+
+    if (m_Size == m_Rules.length) {
+      RipperRule[] rules = new RipperRule[2 * m_Rules.length];
+      System.arraycopy(m_Rules, 0, rules, 0, m_Size);
+      m_Rules = rules;
+    }
+    m_Rules[m_Size++] = rule;
+  }
+
+  /**
+   * Returns the rule at a given position.
+   *
+   * @param index the position
+   * @return the rule
+   */
+  public final RipperRule get(int index) {
+    return m_Rules[index];
+  }
+
+  /**
+   * Returns the number of rules in the list.
+   *
+   * @return the number of rules
+   */
+  public final int size() {
+    return m_Size;
+  }
+}
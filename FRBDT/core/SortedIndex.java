@@ -0,0 +1,237 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+package keel.Algorithms.Decision_Trees.FRBDT.core;
+
+/**
+ * Index of the rows of a columnar set of instances sorted by the value of
+ * each attribute. It finds the rows whose value lies in a range by binary
+ * search, so that an antecedent is only evaluated on the rows inside its
+ * support. Missing values are kept after all the others and are never
+ * part of a range.
+ *
+ * The index is built once and follows the instances through
+ * retainRows(): the rows kept are marked while they are filtered, and the
+ * index is then compacted in the same way, without sorting again.
+ */
+public class SortedIndex {
+
+  /** The rows sorted by the value of each attribute, null for the class */
+  private int[][] m_Rows;
+
+  /** The values of each attribute in sorted order, null for the class */
+  private double[][] m_Values;
+
+  /** The number of rows of each attribute with a value that is not missing */
+  private int[] m_NumValues;
+
+  /** The number of rows indexed */
+  private int m_NumInstances;
+
+  /** The new position of each row marked, -1 if it is removed */
+  private int[] m_NewRows;
+
+  /** The number of rows marked as kept */
+  private int m_NumKept;
+
+  /**
+   * Constructor, sorting every attribute but the class.
+   *
+   * @param data the instances
+   */
+  public SortedIndex(ColumnarInstances data) {
+
+    int numAttributes = data.numAttributes();
+    m_NumInstances = data.numInstances();
+    m_Rows = new int[numAttributes][];
+    m_Values = new double[numAttributes][];
+    m_NumValues = new int[numAttributes];
+    for (int a = 0; a < numAttributes; a++) {
+      if (a == data.classIndex())
+        continue;
+      double[] column = new double[m_NumInstances];
+      System.arraycopy(data.column(a), 0, column, 0, m_NumInstances);
+      int[] sorted = Utils.sort(column);
+
+      /* Utils.sort puts the missing values among the largest ones */
+      int[] rows = new int[m_NumInstances];
+      double[] values = new double[m_NumInstances];
+      int numValues = 0;
+      for (int i = 0; i < m_NumInstances; i++) {
+        if (!Double.isNaN(column[sorted[i]])) {
+          rows[numValues] = sorted[i];
+          values[numValues++] = column[sorted[i]];
+        }
+      }
+      int pos = numValues;
+      for (int i = 0; i < m_NumInstances; i++) {
+        if (Double.isNaN(column[sorted[i]])) {
+          rows[pos] = sorted[i];
+          values[pos++] = column[sorted[i]];
+        }
+      }
+      m_Rows[a] = rows;
+      m_Values[a] = values;
+      m_NumValues[a] = numValues;
+    }
+    m_NewRows = new int[Math.max(m_NumInstances, 1)];
+  }
+
+  /**
+   * Constructor copying another index, without sorting again, so that the
+   * copy can follow its own instances.
+   *
+   * @param source the index to be copied
+   */
+  public SortedIndex(SortedIndex source) {
+
+    m_NumInstances = source.m_NumInstances;
+    m_Rows = new int[source.m_Rows.length][];
+    m_Values = new double[source.m_Values.length][];
+    for (int a = 0; a < m_Rows.length; a++) {
+      if (source.m_Rows[a] == null)
+        continue;
+      m_Rows[a] = source.m_Rows[a].clone();
+      m_Values[a] = source.m_Values[a].clone();
+    }
+    m_NumValues = source.m_NumValues.clone();
+    m_NewRows = new int[Math.max(m_NumInstances, 1)];
+  }
+
+  /**
+   * Returns the rows sorted by the value of an attribute. The array may be
+   * longer than the number of instances; it must not be modified.
+   *
+   * @param att the index of the attribute
+   * @return the rows
+   */
+  public int[] rows(int att) {
+    return m_Rows[att];
+  }
+
+  /**
+   * Returns the values of an attribute in sorted order, parallel to rows().
+   * The array must not be modified.
+   *
+   * @param att the index of the attribute
+   * @return the sorted values
+   */
+  public double[] values(int att) {
+    return m_Values[att];
+  }
+
+  /**
+   * Returns the first position in sorted order of a value not below x.
+   *
+   * @param att the index of the attribute
+   * @param x the value
+   * @return the position
+   */
+  public int lowerBound(int att, double x) {
+
+    double[] values = m_Values[att];
+    int low = 0, high = m_NumValues[att];
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (values[mid] < x)
+        low = mid + 1;
+      else
+        high = mid;
+    }
+    return low;
+  }
+
+  /**
+   * Returns the first position in sorted order of a value above x.
+   *
+   * @param att the index of the attribute
+   * @param x the value
+   * @return the position
+   */
+  public int upperBound(int att, double x) {
+
+    double[] values = m_Values[att];
+    int low = 0, high = m_NumValues[att];
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (values[mid] <= x)
+        low = mid + 1;
+      else
+        high = mid;
+    }
+    return low;
+  }
+
+  /**
+   * Returns the number of rows indexed
+   *
+   * @return the number of rows
+   */
+  public int numInstances() {
+    return m_NumInstances;
+  }
+
+  /**
+   * Records whether a row is kept by the next retainMarkedRows(). The rows
+   * must be marked in order, all of them.
+   *
+   * @param row the row
+   * @param kept whether it is kept
+   */
+  public void mark(int row, boolean kept) {
+    m_NewRows[row] = kept ? m_NumKept++ : -1;
+  }
+
+  /**
+   * Removes the rows not marked as kept and renumbers the rest, as
+   * ColumnarInstances.retainRows() does with the instances.
+   */
+  public void retainMarkedRows() {
+
+    for (int a = 0; a < m_Rows.length; a++) {
+      int[] rows = m_Rows[a];
+      if (rows == null)
+        continue;
+      double[] values = m_Values[a];
+      int kept = 0, numValues = 0;
+      for (int i = 0; i < m_NumInstances; i++) {
+        int row = m_NewRows[rows[i]];
+        if (row < 0)
+          continue;
+        if (i < m_NumValues[a])
+          numValues++;
+        rows[kept] = row;
+        values[kept++] = values[i];
+      }
+      m_NumValues[a] = numValues;
+    }
+    m_NumInstances = m_NumKept;
+    m_NumKept = 0;
+  }
+}
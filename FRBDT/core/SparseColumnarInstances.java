@@ -0,0 +1,550 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+
+package keel.Algorithms.Decision_Trees.FRBDT.core;
+
+import java.util.Arrays;
+
+/**
+ * Column-major set of instances for data where most values are zero. Each
+ * attribute keeps only its non-zero values, next to the rows they belong
+ * to in increasing order (a compressed column); missing values are stored
+ * explicitly. The class labels and the weights are kept in full arrays as
+ * in ColumnarInstances. The memory and the passes over an attribute are
+ * thus proportional to its number of non-zero values instead of the
+ * number of instances. The full columns are only built on request by
+ * column().
+ */
+public class SparseColumnarInstances extends ColumnarInstances {
+
+  /** for serialization */
+  static final long serialVersionUID = 6034181559273416785L;
+
+  /** The initial capacity of the entries of an attribute */
+  protected static final int INITIAL_ENTRIES = 8;
+
+  /** The rows with a non-zero value of each attribute, in increasing order */
+  protected int[][] m_Rows;
+
+  /** The non-zero values of each attribute, aligned with m_Rows */
+  protected double[][] m_Values;
+
+  /** The number of non-zero values of each attribute */
+  protected int[] m_Sizes;
+
+  /**
+   * Constructor creating an empty set with the header information of the
+   * given dataset.
+   *
+   * @param header the instances from which the header information is taken
+   * @param capacity the initial capacity of the set
+   */
+  public SparseColumnarInstances(Instances header, int capacity) {
+
+    if (header.classIndex() < 0) {
+      throw new UnassignedClassException("Class index is negative (not set)!");
+    }
+    if (capacity < 1)
+      capacity = 1;
+    m_Header = new Instances(header, 0);
+    int numAttributes = header.numAttributes();
+    m_Rows = new int[numAttributes][INITIAL_ENTRIES];
+    m_Values = new double[numAttributes][INITIAL_ENTRIES];
+    m_Sizes = new int[numAttributes];
+    m_Classes = new int[capacity];
+    m_Weights = new double[capacity];
+    m_NumInstances = 0;
+  }
+
+  /**
+   * Constructor copying all the instances of the given set.
+   *
+   * @param data the instances to be copied
+   */
+  public SparseColumnarInstances(Instances data) {
+
+    this(data, data.numInstances());
+    for (int i = 0; i < data.numInstances(); i++) {
+      add(data.instance(i));
+    }
+  }
+
+  /**
+   * Constructor copying all the instances of a columnar set, keeping the
+   * non-zero values of each column.
+   *
+   * @param source the instances to be copied
+   */
+  public SparseColumnarInstances(ColumnarInstances source) {
+
+    m_Header = source.m_Header;
+    int numAttributes = source.numAttributes();
+    int numInstances = source.numInstances();
+    m_Rows = new int[numAttributes][];
+    m_Values = new double[numAttributes][];
+    m_Sizes = new int[numAttributes];
+    for (int a = 0; a < numAttributes; a++) {
+      if (source.isSparse()) {
+        SparseColumnarInstances sparse = (SparseColumnarInstances)source;
+        int size = sparse.m_Sizes[a];
+        m_Rows[a] = new int[Math.max(size, 1)];
+        m_Values[a] = new double[Math.max(size, 1)];
+        System.arraycopy(sparse.m_Rows[a], 0, m_Rows[a], 0, size);
+        System.arraycopy(sparse.m_Values[a], 0, m_Values[a], 0, size);
+        m_Sizes[a] = size;
+        continue;
+      }
+      double[] column = source.column(a);
+      int size = 0;
+      for (int i = 0; i < numInstances; i++) {
+        if (column[i] != 0)
+          size++;
+      }
+      m_Rows[a] = new int[Math.max(size, 1)];
+      m_Values[a] = new double[Math.max(size, 1)];
+      size = 0;
+      for (int i = 0; i < numInstances; i++) {
+        if (column[i] != 0) {
+          m_Rows[a][size] = i;
+          m_Values[a][size++] = column[i];
+        }
+      }
+      m_Sizes[a] = size;
+    }
+    int capacity = Math.max(numInstances, 1);
+    m_Classes = new int[capacity];
+    System.arraycopy(source.m_Classes, 0, m_Classes, 0, numInstances);
+    m_Weights = new double[capacity];
+    System.arraycopy(source.m_Weights, 0, m_Weights, 0, numInstances);
+    m_NumInstances = numInstances;
+  }
+
+  /**
+   * Constructor wrapping already filled arrays, which must not be modified
+   * afterwards by the caller.
+   *
+   * @param header the instances from which the header information is taken
+   * @param rows the rows with a non-zero value of each attribute, in
+   * increasing order, indexed by [attribute][entry]
+   * @param values the non-zero values of each attribute, aligned with rows
+   * @param sizes the number of non-zero values of each attribute
+   * @param classes the class label of each instance, -1 if missing
+   * @param weights the weight of each instance
+   * @param numInstances the number of instances held by the arrays
+   */
+  public SparseColumnarInstances(Instances header, int[][] rows, double[][] values,
+                                 int[] sizes, int[] classes, double[] weights,
+                                 int numInstances) {
+
+    if (header.classIndex() < 0) {
+      throw new UnassignedClassException("Class index is negative (not set)!");
+    }
+    if (rows.length != header.numAttributes() || values.length != rows.length
+        || sizes.length != rows.length) {
+      throw new IllegalArgumentException("One set of entries per attribute is needed");
+    }
+    m_Header = new Instances(header, 0);
+    m_Rows = rows;
+    m_Values = values;
+    m_Sizes = sizes;
+    m_Classes = classes;
+    m_Weights = weights;
+    m_NumInstances = numInstances;
+  }
+
+  /**
+   * Constructor copying a subset of the instances of another set. The rows
+   * may come in any order and more than once: the entries of the source are
+   * first grouped by row, and then appended to the attributes in the order
+   * of the new rows, in time linear in the number of entries.
+   *
+   * @param source the set from which the instances are copied
+   * @param rows the positions of the instances to be copied, in order
+   * @param numRows the number of positions of rows to be used
+   */
+  public SparseColumnarInstances(SparseColumnarInstances source, int[] rows, int numRows) {
+
+    m_Header = source.m_Header;
+    int numAttributes = source.numAttributes();
+    int numSource = source.m_NumInstances;
+
+    /* the entries of the source grouped by row: the attribute and the value
+       of entry rowStart[i] to rowStart[i + 1] - 1 of row i */
+    int[] rowStart = new int[numSource + 1];
+    for (int a = 0; a < numAttributes; a++) {
+      int[] from = source.m_Rows[a];
+      for (int p = 0; p < source.m_Sizes[a]; p++)
+        rowStart[from[p] + 1]++;
+    }
+    for (int i = 0; i < numSource; i++)
+      rowStart[i + 1] += rowStart[i];
+    int[] next = new int[numSource];
+    System.arraycopy(rowStart, 0, next, 0, numSource);
+    int[] entryAtts = new int[rowStart[numSource]];
+    double[] entryValues = new double[rowStart[numSource]];
+    for (int a = 0; a < numAttributes; a++) {
+      int[] from = source.m_Rows[a];
+      double[] values = source.m_Values[a];
+      for (int p = 0; p < source.m_Sizes[a]; p++) {
+        int e = next[from[p]]++;
+        entryAtts[e] = a;
+        entryValues[e] = values[p];
+      }
+    }
+
+    m_Sizes = new int[numAttributes];
+    for (int i = 0; i < numRows; i++) {
+      for (int e = rowStart[rows[i]]; e < rowStart[rows[i] + 1]; e++)
+        m_Sizes[entryAtts[e]]++;
+    }
+    m_Rows = new int[numAttributes][];
+    m_Values = new double[numAttributes][];
+    for (int a = 0; a < numAttributes; a++) {
+      m_Rows[a] = new int[Math.max(m_Sizes[a], 1)];
+      m_Values[a] = new double[Math.max(m_Sizes[a], 1)];
+      m_Sizes[a] = 0;
+    }
+    m_Classes = new int[Math.max(numRows, 1)];
+    m_Weights = new double[Math.max(numRows, 1)];
+    for (int i = 0; i < numRows; i++) {
+      for (int e = rowStart[rows[i]]; e < rowStart[rows[i] + 1]; e++) {
+        int a = entryAtts[e];
+        m_Rows[a][m_Sizes[a]] = i;
+        m_Values[a][m_Sizes[a]++] = entryValues[e];
+      }
+      m_Classes[i] = source.m_Classes[rows[i]];
+      m_Weights[i] = source.m_Weights[rows[i]];
+    }
+    m_NumInstances = numRows;
+  }
+
+  /**
+   * Returns a copy of all the instances of this set, in sparse form.
+   *
+   * @return the copy
+   */
+  public ColumnarInstances copy() {
+    return new SparseColumnarInstances(this);
+  }
+
+  /**
+   * Returns a copy of a subset of the instances of this set, in sparse
+   * form.
+   *
+   * @param rows the positions of the instances to be copied, in order
+   * @param numRows the number of positions of rows to be used
+   * @return the copy
+   */
+  public ColumnarInstances copy(int[] rows, int numRows) {
+    return new SparseColumnarInstances(this, rows, numRows);
+  }
+
+  /**
+   * Whether the values are kept as the non-zero entries of each attribute
+   *
+   * @return true
+   */
+  public boolean isSparse() {
+    return true;
+  }
+
+  /**
+   * Removes all the instances and the entries of every attribute, keeping
+   * the capacity, so that the set can be filled again without allocating.
+   */
+  public void clear() {
+    m_NumInstances = 0;
+    Arrays.fill(m_Sizes, 0);
+  }
+
+  /**
+   * Appends a non-zero value to the entries of an attribute.
+   *
+   * @param att the index of the attribute
+   * @param row the position of the instance, after those already stored
+   * @param value the value
+   */
+  private void addEntry(int att, int row, double value) {
+
+    int size = m_Sizes[att];
+    if (size == m_Rows[att].length) {
+      int[] rows = new int[2 * size];
+      System.arraycopy(m_Rows[att], 0, rows, 0, size);
+      m_Rows[att] = rows;
+      double[] values = new double[2 * size];
+      System.arraycopy(m_Values[att], 0, values, 0, size);
+      m_Values[att] = values;
+    }
+    m_Rows[att][size] = row;
+    m_Values[att][size] = value;
+    m_Sizes[att] = size + 1;
+  }
+
+  /**
+   * Adds one instance to the end of the set, keeping its non-zero values.
+   *
+   * @param values the values of all the attributes, class included
+   * @param weight the weight of the instance
+   */
+  public void add(double[] values, double weight) {
+
+    if (m_NumInstances == m_Classes.length)
+      setCapacity(2 * m_NumInstances);
+    int row = m_NumInstances;
+    for (int a = 0; a < m_Rows.length; a++) {
+      if (values[a] != 0)
+        addEntry(a, row, values[a]);
+    }
+    double cls = values[m_Header.classIndex()];
+    m_Classes[row] = Instance.isMissingValue(cls) ? -1 : (int)cls;
+    m_Weights[row] = weight;
+    m_NumInstances++;
+  }
+
+  /**
+   * Adds a copy of the values of one instance to the end of the set. Only
+   * the values stored by the instance are visited, so a sparse instance is
+   * added in time proportional to its number of values.
+   *
+   * @param instance the instance to be added
+   */
+  public void add(Instance instance) {
+
+    if (m_NumInstances == m_Classes.length)
+      setCapacity(2 * m_NumInstances);
+    int row = m_NumInstances;
+    for (int p = 0; p < instance.numValues(); p++) {
+      double value = instance.valueSparse(p);
+      if (value != 0)
+        addEntry(instance.index(p), row, value);
+    }
+    m_Classes[row] = instance.classIsMissing() ? -1 : (int)instance.classValue();
+    m_Weights[row] = instance.weight();
+    m_NumInstances++;
+  }
+
+  /**
+   * Changes the capacity of the class labels and the weights. The entries
+   * of the attributes grow on their own.
+   *
+   * @param capacity the new capacity, not less than the number of instances
+   */
+  protected void setCapacity(int capacity) {
+
+    if (capacity < 1)
+      capacity = 1;
+    int[] classes = new int[capacity];
+    System.arraycopy(m_Classes, 0, classes, 0, m_NumInstances);
+    m_Classes = classes;
+    double[] weights = new double[capacity];
+    System.arraycopy(m_Weights, 0, weights, 0, m_NumInstances);
+    m_Weights = weights;
+  }
+
+  /**
+   * Decreases the capacity of the set, and that of the entries of every
+   * attribute, so that they match what is stored.
+   */
+  public void compactify() {
+
+    if (m_Classes.length > m_NumInstances)
+      setCapacity(m_NumInstances);
+    for (int a = 0; a < m_Rows.length; a++) {
+      int size = Math.max(m_Sizes[a], 1);
+      if (m_Rows[a].length > size) {
+        int[] rows = new int[size];
+        System.arraycopy(m_Rows[a], 0, rows, 0, m_Sizes[a]);
+        m_Rows[a] = rows;
+        double[] values = new double[size];
+        System.arraycopy(m_Values[a], 0, values, 0, m_Sizes[a]);
+        m_Values[a] = values;
+      }
+    }
+  }
+
+  /**
+   * Removes all instances with a missing class value from the set,
+   * keeping the order of the rest.
+   */
+  public void deleteWithMissingClass() {
+
+    retainRows(new RowFilter() {
+      public boolean keep(int row) {
+        return m_Classes[row] >= 0;
+      }
+    });
+  }
+
+  /**
+   * Removes the instances rejected by a filter, moving the rest down in
+   * place and keeping their order. The filter is called once per instance,
+   * in order, while that instance is still at its original position; the
+   * entries of the attributes are renumbered once all the instances have
+   * been filtered.
+   *
+   * @param filter the filter
+   * @return the number of instances left
+   */
+  public int retainRows(RowFilter filter) {
+
+    int[] newRow = new int[Math.max(m_NumInstances, 1)];
+    int kept = 0;
+    for (int i = 0; i < m_NumInstances; i++) {
+      if (!filter.keep(i)) {
+        newRow[i] = -1;
+        continue;
+      }
+      if (kept != i) {
+        m_Classes[kept] = m_Classes[i];
+        m_Weights[kept] = m_Weights[i];
+      }
+      newRow[i] = kept++;
+    }
+    if (kept != m_NumInstances) {
+      for (int a = 0; a < m_Rows.length; a++) {
+        int[] rows = m_Rows[a];
+        double[] values = m_Values[a];
+        int size = 0;
+        for (int p = 0; p < m_Sizes[a]; p++) {
+          int row = newRow[rows[p]];
+          if (row >= 0) {
+            rows[size] = row;
+            values[size++] = values[p];
+          }
+        }
+        m_Sizes[a] = size;
+      }
+    }
+    m_NumInstances = kept;
+    return kept;
+  }
+
+  /**
+   * Builds the full column of an attribute, zeros included.
+   *
+   * @param att the index of the attribute
+   * @return a new array with the value of every instance
+   */
+  public double[] column(int att) {
+
+    double[] column = new double[Math.max(m_NumInstances, 1)];
+    for (int p = 0; p < m_Sizes[att]; p++)
+      column[m_Rows[att][p]] = m_Values[att][p];
+    return column;
+  }
+
+  /**
+   * Returns the number of non-zero values of an attribute
+   *
+   * @param att the index of the attribute
+   * @return the number of non-zero values
+   */
+  public int numNonZero(int att) {
+    return m_Sizes[att];
+  }
+
+  /**
+   * Returns the rows with a non-zero value of an attribute, in increasing
+   * order. The array may be longer than numNonZero(); it must not be
+   * modified.
+   *
+   * @param att the index of the attribute
+   * @return the rows
+   */
+  public int[] nonZeroRows(int att) {
+    return m_Rows[att];
+  }
+
+  /**
+   * Returns the non-zero values of an attribute, aligned with
+   * nonZeroRows(). The array may be longer than numNonZero(); it must not
+   * be modified.
+   *
+   * @param att the index of the attribute
+   * @return the values
+   */
+  public double[] nonZeroValues(int att) {
+    return m_Values[att];
+  }
+
+  /**
+   * Returns the value of an attribute of an instance, found by binary
+   * search among the non-zero values of the attribute.
+   *
+   * @param row the position of the instance
+   * @param att the index of the attribute
+   * @return the value
+   */
+  public double value(int row, int att) {
+
+    int[] rows = m_Rows[att];
+    int low = 0, high = m_Sizes[att] - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      if (rows[mid] < row)
+        low = mid + 1;
+      else if (rows[mid] > row)
+        high = mid - 1;
+      else
+        return m_Values[att][mid];
+    }
+    return 0;
+  }
+
+  /**
+   * Builds a SparseInstance with the non-zero values of the given row,
+   * with access to the header.
+   *
+   * @param row the position of the instance
+   * @return a new instance
+   */
+  public Instance instance(int row) {
+
+    int numAttributes = m_Rows.length;
+    double[] values = new double[numAttributes];
+    int[] indices = new int[numAttributes];
+    int numValues = 0;
+    for (int a = 0; a < numAttributes; a++) {
+      double value = value(row, a);
+      if (value != 0) {
+        values[numValues] = value;
+        indices[numValues++] = a;
+      }
+    }
+    double[] instanceValues = new double[numValues];
+    System.arraycopy(values, 0, instanceValues, 0, numValues);
+    int[] instanceIndices = new int[numValues];
+    System.arraycopy(indices, 0, instanceIndices, 0, numValues);
+    Instance instance = new SparseInstance(m_Weights[row], instanceValues,
+                                           instanceIndices, numAttributes);
+    instance.setDataset(m_Header);
+    return instance;
+  }
+}
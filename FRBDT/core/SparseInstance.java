@@ -0,0 +1,584 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+
+package keel.Algorithms.Decision_Trees.FRBDT.core;
+
+/**
+ * Class for storing an instance as a sparse vector. A sparse instance
+ * only requires storage for those attribute values that are non-zero.
+ * Since the objective is to reduce storage requirements for datasets
+ * with large numbers of default values, this also includes nominal
+ * attributes -- the first nominal value (i.e. that which has index 0)
+ * will not require explicit storage, so rearrange your nominal
+ * attribute value orderings if necessary. Missing values will be
+ * stored explicitly.<p>
+ *
+ * The values are kept in m_AttValues, next to the indices of their
+ * attributes in m_Indices, in increasing order of index. The methods
+ * whose name ends in "Sparse" take a position in these arrays, from 0 to
+ * numValues() - 1, while the others take the index of the attribute.
+ */
+public class SparseInstance extends Instance {
+
+  /** for serialization */
+  static final long serialVersionUID = -3579051291332630149L;
+
+  /** The index of the attribute associated with each stored value. */
+  protected int[] m_Indices;
+
+  /** The maximum number of values that can be stored. */
+  protected int m_NumAttributes;
+
+  /**
+   * Constructor that generates a sparse instance from the given
+   * instance. Reference to the dataset is set to null.
+   * (ie. the instance doesn't have access to information about the
+   * attribute types)
+   *
+   * @param instance the instance from which the attribute values
+   * and the weight are to be copied
+   */
+  public SparseInstance(Instance instance) {
+
+    m_Weight = instance.m_Weight;
+    m_Dataset = null;
+    m_NumAttributes = instance.numAttributes();
+    if (instance instanceof SparseInstance) {
+      m_AttValues = ((SparseInstance)instance).m_AttValues;
+      m_Indices = ((SparseInstance)instance).m_Indices;
+    } else {
+      int numValues = 0;
+      for (int i = 0; i < instance.numAttributes(); i++) {
+        if (instance.value(i) != 0) {
+          numValues++;
+        }
+      }
+      m_AttValues = new double[numValues];
+      m_Indices = new int[numValues];
+      int p = 0;
+      for (int i = 0; i < instance.numAttributes(); i++) {
+        if (instance.value(i) != 0) {
+          m_AttValues[p] = instance.value(i);
+          m_Indices[p] = i;
+          p++;
+        }
+      }
+    }
+  }
+
+  /**
+   * Constructor that copies the info from the given instance.
+   * Reference to the dataset is set to null.
+   * (ie. the instance doesn't have access to information about the
+   * attribute types)
+   *
+   * @param instance the instance from which the attribute
+   * info is to be copied
+   */
+  public SparseInstance(SparseInstance instance) {
+
+    m_AttValues = instance.m_AttValues;
+    m_Indices = instance.m_Indices;
+    m_Weight = instance.m_Weight;
+    m_NumAttributes = instance.m_NumAttributes;
+    m_Dataset = null;
+  }
+
+  /**
+   * Constructor that generates a sparse instance from the given
+   * parameters. Reference to the dataset is set to null.
+   * (ie. the instance doesn't have access to information about the
+   * attribute types)
+   *
+   * @param weight the instance's weight
+   * @param attValues a vector of attribute values
+   */
+  public SparseInstance(double weight, double[] attValues) {
+
+    this(new Instance(weight, attValues));
+  }
+
+  /**
+   * Constructor that inititalizes instance variable with given
+   * values. Reference to the dataset is set to null. (ie. the instance
+   * doesn't have access to information about the attribute types)
+   *
+   * @param weight the instance's weight
+   * @param attValues a vector of the non-zero attribute values
+   * @param indices the indices of the given values in the full vector,
+   * in increasing order
+   * @param maxNumValues the maximum number of values that can be stored
+   * @throws IllegalArgumentException if the indices are not increasing or
+   * out of range
+   */
+  public SparseInstance(double weight, double[] attValues,
+                        int[] indices, int maxNumValues) {
+
+    for (int i = 0; i < indices.length; i++) {
+      if ((indices[i] < 0) || (indices[i] >= maxNumValues) ||
+          ((i > 0) && (indices[i] <= indices[i - 1]))) {
+        throw new IllegalArgumentException("Indices must be increasing and " +
+                                           "less than the number of values!");
+      }
+    }
+    m_AttValues = attValues;
+    m_Indices = indices;
+    m_Weight = weight;
+    m_NumAttributes = maxNumValues;
+    m_Dataset = null;
+  }
+
+  /**
+   * Constructor of an instance that sets weight to one, all values to
+   * be missing, and the reference to the dataset to null. (ie. the instance
+   * doesn't have access to information about the attribute types)
+   *
+   * @param numAttributes the size of the instance
+   */
+  public SparseInstance(int numAttributes) {
+
+    m_AttValues = new double[numAttributes];
+    m_NumAttributes = numAttributes;
+    m_Indices = new int[numAttributes];
+    for (int i = 0; i < m_AttValues.length; i++) {
+      m_AttValues[i] = MISSING_VALUE;
+      m_Indices[i] = i;
+    }
+    m_Weight = 1;
+    m_Dataset = null;
+  }
+
+  /**
+   * Returns the attribute associated with the internal index.
+   *
+   * @param indexOfIndex the index of the attribute's index
+   * @return the attribute at the given position
+   * @throws UnassignedDatasetException if instance doesn't have access to a
+   * dataset
+   */
+  public AttributeWeka attributeSparse(int indexOfIndex) {
+
+    if (m_Dataset == null) {
+      throw new UnassignedDatasetException("Instance doesn't have access to a dataset!");
+    }
+    return m_Dataset.attribute(m_Indices[indexOfIndex]);
+  }
+
+  /**
+   * Produces a shallow copy of this instance. The copy has
+   * access to the same dataset.
+   *
+   * @return the shallow copy
+   */
+  public Object copy() {
+
+    SparseInstance result = new SparseInstance(this);
+    result.m_Dataset = m_Dataset;
+    return result;
+  }
+
+  /**
+   * Returns the index of the attribute stored at the given position.
+   *
+   * @param position the position
+   * @return the index of the attribute stored at the given position
+   */
+  public int index(int position) {
+
+    return m_Indices[position];
+  }
+
+  /**
+   * Tests if a specific value is "missing".
+   *
+   * @param attIndex the attribute's index
+   * @return true if the value is "missing"
+   */
+  public boolean isMissing(int attIndex) {
+
+    return Double.isNaN(value(attIndex));
+  }
+
+  /**
+   * Tests if a specific value is "missing".
+   *
+   * @param indexOfIndex the index of the attribute's index
+   * @return true if the value is "missing"
+   */
+  public boolean isMissingSparse(int indexOfIndex) {
+
+    return Double.isNaN(m_AttValues[indexOfIndex]);
+  }
+
+  /**
+   * Locates the greatest index that is not greater than the
+   * given index.
+   *
+   * @param index the attribute's index
+   * @return the position of the greatest index that is not greater than
+   * the given one, -1 if all the indices are greater
+   */
+  public int locateIndex(int index) {
+
+    int min = 0, max = m_Indices.length - 1;
+
+    if (max == -1) {
+      return -1;
+    }
+
+    // Binary search
+    while ((m_Indices[min] <= index) && (m_Indices[max] >= index)) {
+      int current = (max + min) / 2;
+      if (m_Indices[current] > index) {
+        max = current - 1;
+      } else if (m_Indices[current] < index) {
+        min = current + 1;
+      } else {
+        return current;
+      }
+    }
+    if (m_Indices[max] < index) {
+      return max;
+    } else {
+      return min - 1;
+    }
+  }
+
+  /**
+   * Merges this instance with the given instance and returns
+   * the result. Dataset is set to null.
+   *
+   * @param inst the instance to be merged with this one
+   * @return the merged instances
+   */
+  public Instance mergeInstance(Instance inst) {
+
+    double[] values = new double[numValues() + inst.numValues()];
+    int[] indices = new int[numValues() + inst.numValues()];
+
+    int m = 0;
+    for (int j = 0; j < numValues(); j++, m++) {
+      values[m] = valueSparse(j);
+      indices[m] = index(j);
+    }
+    for (int j = 0; j < inst.numValues(); j++) {
+      if (inst.valueSparse(j) != 0) {
+        values[m] = inst.valueSparse(j);
+        indices[m] = numAttributes() + inst.index(j);
+        m++;
+      }
+    }
+    if (m != values.length) {
+      double[] newValues = new double[m];
+      System.arraycopy(values, 0, newValues, 0, m);
+      values = newValues;
+      int[] newIndices = new int[m];
+      System.arraycopy(indices, 0, newIndices, 0, m);
+      indices = newIndices;
+    }
+    return new SparseInstance(1.0, values, indices,
+                              numAttributes() + inst.numAttributes());
+  }
+
+  /**
+   * Returns the number of attributes.
+   *
+   * @return the number of attributes as an integer
+   */
+  public int numAttributes() {
+
+    return m_NumAttributes;
+  }
+
+  /**
+   * Returns the number of values in the sparse vector.
+   *
+   * @return the number of values
+   */
+  public int numValues() {
+
+    return m_Indices.length;
+  }
+
+  /**
+   * Replaces all missing values in the instance with the values
+   * contained in the given array. A deep copy of the vector of
+   * attribute values is performed before the values are replaced.
+   *
+   * @param array containing the means and modes
+   * @throws IllegalArgumentException if numbers of attributes are unequal
+   */
+  public void replaceMissingValues(double[] array) {
+
+    if ((array == null) || (array.length != m_NumAttributes)) {
+      throw new IllegalArgumentException("Unequal number of attributes!");
+    }
+    double[] tempValues = new double[m_AttValues.length];
+    int[] tempIndices = new int[m_AttValues.length];
+    int vals = 0;
+    for (int i = 0; i < m_AttValues.length; i++) {
+      if (isMissingSparse(i)) {
+        if (array[m_Indices[i]] != 0) {
+          tempValues[vals] = array[m_Indices[i]];
+          tempIndices[vals] = m_Indices[i];
+          vals++;
+        }
+      } else {
+        tempValues[vals] = m_AttValues[i];
+        tempIndices[vals] = m_Indices[i];
+        vals++;
+      }
+    }
+    m_AttValues = new double[vals];
+    m_Indices = new int[vals];
+    System.arraycopy(tempValues, 0, m_AttValues, 0, vals);
+    System.arraycopy(tempIndices, 0, m_Indices, 0, vals);
+  }
+
+  /**
+   * Sets a specific value in the instance to the given value
+   * (internal floating-point format). Performs a deep copy
+   * of the vector of attribute values before the value is set.
+   *
+   * @param attIndex the attribute's index
+   * @param value the new attribute value (If the corresponding
+   * attribute is nominal (or a string) then this is the new value's
+   * index as a double).
+   */
+  public void setValue(int attIndex, double value) {
+
+    int index = locateIndex(attIndex);
+
+    if ((index >= 0) && (m_Indices[index] == attIndex)) {
+      if (value != 0) {
+        double[] tempValues = new double[m_AttValues.length];
+        System.arraycopy(m_AttValues, 0, tempValues, 0, m_AttValues.length);
+        tempValues[index] = value;
+        m_AttValues = tempValues;
+      } else {
+        double[] tempValues = new double[m_AttValues.length - 1];
+        int[] tempIndices = new int[m_Indices.length - 1];
+        System.arraycopy(m_AttValues, 0, tempValues, 0, index);
+        System.arraycopy(m_Indices, 0, tempIndices, 0, index);
+        System.arraycopy(m_AttValues, index + 1, tempValues, index,
+                         m_AttValues.length - index - 1);
+        System.arraycopy(m_Indices, index + 1, tempIndices, index,
+                         m_Indices.length - index - 1);
+        m_AttValues = tempValues;
+        m_Indices = tempIndices;
+      }
+    } else {
+      if (value != 0) {
+        double[] tempValues = new double[m_AttValues.length + 1];
+        int[] tempIndices = new int[m_Indices.length + 1];
+        System.arraycopy(m_AttValues, 0, tempValues, 0, index + 1);
+        System.arraycopy(m_Indices, 0, tempIndices, 0, index + 1);
+        tempIndices[index + 1] = attIndex;
+        tempValues[index + 1] = value;
+        System.arraycopy(m_AttValues, index + 1, tempValues, index + 2,
+                         m_AttValues.length - index - 1);
+        System.arraycopy(m_Indices, index + 1, tempIndices, index + 2,
+                         m_Indices.length - index - 1);
+        m_AttValues = tempValues;
+        m_Indices = tempIndices;
+      }
+    }
+  }
+
+  /**
+   * Sets a specific value in the instance to the given value
+   * (internal floating-point format). Performs a deep copy
+   * of the vector of attribute values before the value is set.
+   *
+   * @param indexOfIndex the index of the attribute's index
+   * @param value the new attribute value (If the corresponding
+   * attribute is nominal (or a string) then this is the new value's
+   * index as a double).
+   */
+  public void setValueSparse(int indexOfIndex, double value) {
+
+    double[] tempValues = new double[m_AttValues.length];
+    System.arraycopy(m_AttValues, 0, tempValues, 0, m_AttValues.length);
+    m_AttValues = tempValues;
+    m_AttValues[indexOfIndex] = value;
+  }
+
+  /**
+   * Modifies the instances value for an attribute (floating point
+   * representation). No deep copy is produced if the attribute is
+   * already stored; otherwise it behaves like setValue().
+   *
+   * @param attIndex the attribute's index
+   * @param value the new attribute value
+   */
+  public void modifyValue(int attIndex, double value) {
+
+    int index = locateIndex(attIndex);
+    if ((index >= 0) && (m_Indices[index] == attIndex) && (value != 0)) {
+      m_AttValues[index] = value;
+    } else {
+      setValue(attIndex, value);
+    }
+  }
+
+  /**
+   * Returns the values of each attribute as an array of doubles.
+   *
+   * @return an array containing all the instance attribute values
+   */
+  public double[] toDoubleArray() {
+
+    double[] newValues = new double[m_NumAttributes];
+    for (int i = 0; i < m_AttValues.length; i++) {
+      newValues[m_Indices[i]] = m_AttValues[i];
+    }
+    return newValues;
+  }
+
+  /**
+   * Returns the description of one instance in sparse format.
+   * If the instance doesn't have access to a dataset, it returns the
+   * internal floating-point values. Quotes string values that contain
+   * whitespace characters.
+   *
+   * @return the instance's description as a string
+   */
+  public String toString() {
+
+    StringBuffer text = new StringBuffer();
+
+    text.append('{');
+    for (int i = 0; i < m_Indices.length; i++) {
+      if (i > 0) text.append(",");
+      text.append(m_Indices[i] + " " + toString(m_Indices[i]));
+    }
+    text.append('}');
+    if (m_Weight != 1.0) {
+      text.append(",{" + Utils.doubleToString(m_Weight, 6) + "}");
+    }
+    return text.toString();
+  }
+
+  /**
+   * Returns an instance's attribute value in internal format.
+   *
+   * @param attIndex the attribute's index
+   * @return the specified value as a double (If the corresponding
+   * attribute is nominal (or a string) then it returns the value's index as a
+   * double).
+   */
+  public double value(int attIndex) {
+
+    int index = locateIndex(attIndex);
+    if ((index >= 0) && (m_Indices[index] == attIndex)) {
+      return m_AttValues[index];
+    } else {
+      return 0.0;
+    }
+  }
+
+  /**
+   * Returns an instance's attribute value in internal format, given
+   * an index in the sparse representation.
+   *
+   * @param indexOfIndex the index of the attribute's index
+   * @return the specified value as a double (If the corresponding
+   * attribute is nominal (or a string) then it returns the value's index as a
+   * double).
+   */
+  public double valueSparse(int indexOfIndex) {
+
+    return m_AttValues[indexOfIndex];
+  }
+
+  /**
+   * Deletes an attribute at the given position (0 to
+   * numAttributes() - 1).
+   *
+   * @param position the attribute's position
+   */
+  void forceDeleteAttributeAt(int position) {
+
+    int index = locateIndex(position);
+
+    m_NumAttributes--;
+    if ((index >= 0) && (m_Indices[index] == position)) {
+      int[] tempIndices = new int[m_Indices.length - 1];
+      double[] tempValues = new double[m_AttValues.length - 1];
+      System.arraycopy(m_Indices, 0, tempIndices, 0, index);
+      System.arraycopy(m_AttValues, 0, tempValues, 0, index);
+      for (int i = index; i < m_Indices.length - 1; i++) {
+        tempIndices[i] = m_Indices[i + 1] - 1;
+        tempValues[i] = m_AttValues[i + 1];
+      }
+      m_Indices = tempIndices;
+      m_AttValues = tempValues;
+    } else {
+      int[] tempIndices = new int[m_Indices.length];
+      double[] tempValues = new double[m_AttValues.length];
+      System.arraycopy(m_Indices, 0, tempIndices, 0, index + 1);
+      System.arraycopy(m_AttValues, 0, tempValues, 0, index + 1);
+      for (int i = index + 1; i < m_Indices.length; i++) {
+        tempIndices[i] = m_Indices[i] - 1;
+        tempValues[i] = m_AttValues[i];
+      }
+      m_Indices = tempIndices;
+      m_AttValues = tempValues;
+    }
+  }
+
+  /**
+   * Inserts an attribute at the given position
+   * (0 to numAttributes()) and sets its value to be missing.
+   *
+   * @param position the attribute's position
+   */
+  void forceInsertAttributeAt(int position)  {
+
+    int index = locateIndex(position);
+
+    m_NumAttributes++;
+    if ((index >= 0) && (m_Indices[index] == position)) {
+      index--;
+    }
+    int[] tempIndices = new int[m_Indices.length + 1];
+    double[] tempValues = new double[m_AttValues.length + 1];
+    System.arraycopy(m_Indices, 0, tempIndices, 0, index + 1);
+    System.arraycopy(m_AttValues, 0, tempValues, 0, index + 1);
+    tempIndices[index + 1] = position;
+    tempValues[index + 1] = MISSING_VALUE;
+    for (int i = index + 1; i < m_Indices.length; i++) {
+      tempIndices[i + 1] = m_Indices[i] + 1;
+      tempValues[i + 1] = m_AttValues[i];
+    }
+    m_Indices = tempIndices;
+    m_AttValues = tempValues;
+  }
+}
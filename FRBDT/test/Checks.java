@@ -0,0 +1,120 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+
+package keel.Algorithms.Decision_Trees.FRBDT.test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the checks of this package, which exercise the classifier and its
+ * tools on synthetic data and fail with a message when a result differs
+ * from the expected one.
+ *
+ * <p>The package is compiled with the rest of the algorithm and run as</p>
+ * <pre>
+ * java -cp &lt;classpath&gt; keel.Algorithms.Decision_Trees.FRBDT.test.Checks [check names]
+ * </pre>
+ * <p>All the checks run when no name is given. The exit status is 1 if
+ * some check fails.</p>
+ */
+public class Checks {
+
+  /**
+   * A self-contained check.
+   */
+  public interface Check {
+
+    /**
+     * Runs the check.
+     *
+     * @throws Exception if the check fails
+     */
+    void run() throws Exception;
+  }
+
+  /** The names of the checks */
+  private static final String[] NAMES = {
+    "ScoringServerCheck",
+    "LayerStatisticsCheck",
+    "FilesCheck",
+    "WeightedTrainingCheck",
+    "DatasetCacheCheck"
+  };
+
+  /** The checks, in the order of NAMES */
+  private static final Check[] CHECKS = {
+    new ScoringServerCheck(),
+    new LayerStatisticsCheck(),
+    new FilesCheck(),
+    new WeightedTrainingCheck(),
+    new DatasetCacheCheck()
+  };
+
+  /**
+   * Fails a check unless a condition holds.
+   *
+   * @param condition the condition
+   * @param message the description of the failure
+   * @throws IllegalStateException if the condition does not hold
+   */
+  public static void require(boolean condition, String message) {
+
+    if (!condition)
+      throw new IllegalStateException(message);
+  }
+
+  /**
+   * Main program.
+   *
+   * @param args the names of the checks to run, all of them if empty
+   */
+  public static void main(String[] args) {
+
+    List<String> selected = Arrays.asList(args);
+    int numFailed = 0;
+    for (int i = 0; i < CHECKS.length; i++) {
+      if (!selected.isEmpty() && !selected.contains(NAMES[i]))
+        continue;
+      long start = System.nanoTime();
+      try {
+        CHECKS[i].run();
+        System.out.println("ok     " + NAMES[i] + " ("
+                           + (System.nanoTime() - start) / 1000000 + " ms)");
+      } catch (Throwable e) {
+        numFailed++;
+        System.out.println("FAILED " + NAMES[i] + ": " + e);
+        e.printStackTrace();
+      }
+    }
+    if (numFailed > 0)
+      System.exit(1);
+  }
+}
@@ -0,0 +1,120 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+
+package keel.Algorithms.Decision_Trees.FRBDT.test;
+
+import java.io.File;
+import java.util.Random;
+
+import keel.Algorithms.Decision_Trees.FRBDT.benchmark.SyntheticData;
+import keel.Algorithms.Decision_Trees.FRBDT.core.ColumnarInstances;
+import keel.Algorithms.Decision_Trees.FRBDT.core.DatasetCache;
+import keel.Algorithms.Decision_Trees.FRBDT.core.Instance;
+import keel.Algorithms.Decision_Trees.FRBDT.core.Instances;
+import keel.Algorithms.Decision_Trees.FRBDT.core.SparseColumnarInstances;
+
+/**
+ * Checks that the binary cache gives back dense and sparse data unchanged,
+ * each in its own representation, and that a cache is not read in the
+ * representation it was not written in.
+ */
+public class DatasetCacheCheck implements Checks.Check {
+
+  /**
+   * Runs the check.
+   *
+   * @throws Exception if the check fails
+   */
+  public void run() throws Exception {
+
+    // mostly zeros, some missing values and weights, as sparse data has
+    Instances data = SyntheticData.generate(2000, 30, 3, 0.3, 13);
+    Random random = new Random(17);
+    for (int i = 0; i < data.numInstances(); i++) {
+      Instance instance = data.instance(i);
+      instance.setWeight(1 + random.nextInt(3));
+      for (int a = 0; a < data.numAttributes(); a++) {
+        if (a == data.classIndex())
+          continue;
+        int draw = random.nextInt(100);
+        if (draw < 90)
+          instance.setValue(a, 0);
+        else if (draw < 92)
+          instance.setMissing(a);
+      }
+    }
+
+    File source = File.createTempFile("frbdt", ".dat");
+    DatasetCache cache = new DatasetCache(source.getPath(), null);
+    try {
+      ColumnarInstances dense = new ColumnarInstances(data);
+      cache.write(dense, "@relation synthetic\n");
+      long denseSize = cache.cacheFile().length();
+      Checks.require(cache.read(null, true) == null, "dense cache read as sparse");
+      compare(dense, cache.read(data, false), false);
+      Checks.require("@relation synthetic\n".equals(cache.headerText()), "header text differs");
+
+      SparseColumnarInstances sparse = new SparseColumnarInstances(data);
+      cache.write(sparse, "@relation synthetic\n");
+      Checks.require(cache.cacheFile().length() < denseSize / 2,
+                     "sparse cache of " + cache.cacheFile().length() + " bytes");
+      Checks.require(cache.read(null, false) == null, "sparse cache read as dense");
+      compare(dense, cache.read(data, true), true);
+    } finally {
+      cache.cacheFile().delete();
+      source.delete();
+    }
+  }
+
+  /**
+   * Compares the data read from the cache with the data written.
+   *
+   * @param expected the data written
+   * @param actual the data read
+   * @param sparse whether the data read must be sparse
+   */
+  private static void compare(ColumnarInstances expected, ColumnarInstances actual,
+                              boolean sparse) {
+
+    Checks.require(actual != null, "the cache was not read");
+    Checks.require(actual.isSparse() == sparse, "read in the wrong representation");
+    Checks.require(actual.numInstances() == expected.numInstances(),
+                   actual.numInstances() + " instances read");
+    for (int i = 0; i < expected.numInstances(); i++) {
+      Checks.require(actual.classValue(i) == expected.classValue(i), "class of row " + i);
+      Checks.require(actual.weight(i) == expected.weight(i), "weight of row " + i);
+      for (int a = 0; a < expected.numAttributes(); a++) {
+        Checks.require(Double.doubleToLongBits(actual.value(i, a))
+                       == Double.doubleToLongBits(expected.value(i, a)),
+                       "value of attribute " + a + " of row " + i);
+      }
+    }
+  }
+}
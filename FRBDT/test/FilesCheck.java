@@ -0,0 +1,93 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+
+package keel.Algorithms.Decision_Trees.FRBDT.test;
+
+import java.io.File;
+import java.io.IOException;
+
+import keel.Algorithms.Decision_Trees.FRBDT.core.Fichero;
+import keel.Algorithms.Decision_Trees.FRBDT.core.Files;
+
+/**
+ * Checks that a file of about 7.7 MB, whose characters take from one to
+ * four bytes in UTF-8, reads back unchanged through Files and Fichero,
+ * whole and line by line, and survives a write and read round trip.
+ */
+public class FilesCheck implements Checks.Check {
+
+  /** The number of lines of the file */
+  private static final int NUM_LINES = 235000;
+
+  /**
+   * Runs the check.
+   *
+   * @throws Exception if the check fails
+   */
+  public void run() throws Exception {
+
+    // the lines have different lengths, so that the characters of several
+    // bytes fall across every buffer boundary
+    final String[] lines = new String[NUM_LINES];
+    StringBuffer text = new StringBuffer();
+    for (int l = 0; l < NUM_LINES; l++) {
+      lines[l] = "línea " + l + " ñandú €" + "中文".substring(0, 1 + l % 2)
+                 + " 𝄞".substring(0, 1 + 2 * (l % 2));
+      text.append(lines[l]).append('\n');
+    }
+    String content = text.toString();
+
+    File file = File.createTempFile("frbdt", ".txt");
+    try {
+      java.nio.file.Files.write(file.toPath(), content.getBytes("UTF-8"));
+      Checks.require(file.length() > 7000000, "file of " + file.length() + " bytes");
+
+      Checks.require(content.equals(Files.readContent(file.getPath())), "readContent differs");
+      Checks.require(content.equals(Files.readFile(file.getPath())), "readFile differs");
+      Checks.require(content.equals(Fichero.leeFichero(file.getPath())), "leeFichero differs");
+
+      final int[] next = new int[1];
+      long numLines = Files.forEachLine(file.getPath(), new Files.LineHandler() {
+        public boolean line(String line) throws IOException {
+          Checks.require(line.equals(lines[next[0]]), "line " + (next[0] + 1) + " differs");
+          next[0]++;
+          return true;
+        }
+      });
+      Checks.require(numLines == NUM_LINES, numLines + " lines read");
+
+      Fichero.escribeFichero(file.getPath(), content);
+      Checks.require(content.equals(Files.readContent(file.getPath())),
+                     "escribeFichero does not round trip");
+    } finally {
+      file.delete();
+    }
+  }
+}
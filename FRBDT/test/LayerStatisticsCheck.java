@@ -0,0 +1,174 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+
+package keel.Algorithms.Decision_Trees.FRBDT.test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import keel.Algorithms.Decision_Trees.FRBDT.benchmark.SyntheticData;
+import keel.Algorithms.Decision_Trees.FRBDT.core.Instance;
+import keel.Algorithms.Decision_Trees.FRBDT.core.Instances;
+import keel.Algorithms.Decision_Trees.FRBDT.core.LayerStatistics;
+import keel.Algorithms.Decision_Trees.FRBDT.core.Utils;
+
+/**
+ * Checks that the initial trapezoids of LayerStatistics are bit-identical
+ * to those rule growing used to compute for every candidate attribute:
+ * the values of each class copied to an array, averaged with Utils.mean,
+ * and the classes ordered with Utils.sort over the means.
+ */
+public class LayerStatisticsCheck implements Checks.Check {
+
+  /**
+   * Runs the check.
+   *
+   * @throws Exception if the check fails
+   */
+  public void run() throws Exception {
+
+    Instances data = SyntheticData.generate(3000, 8, 5, 0.4, 11);
+    compare(data, "all rows");
+    Random random = new Random(3);
+    for (int k = 0; k < 20; k++) {
+      // the growing data of later rules: a subset, at times without some class
+      Instances subset = new Instances(data, 0);
+      int skipped = random.nextInt(data.numClasses() + 1);
+      for (int i = 0; i < data.numInstances(); i++) {
+        Instance instance = data.instance(i);
+        if ((int)instance.classValue() != skipped && random.nextInt(4) == 0)
+          subset.add(instance);
+      }
+      compare(subset, "subset " + k);
+    }
+  }
+
+  /**
+   * Compares the key values of every attribute and class.
+   *
+   * @param data the data
+   * @param what the description of the data, for the messages
+   */
+  private static void compare(Instances data, String what) {
+
+    LayerStatistics stats = new LayerStatistics(data);
+    for (int att = 0; att < data.numAttributes(); att++) {
+      if (att == data.classIndex())
+        continue;
+      double[][] expected = reference(data, att);
+      for (int c = 0; c < data.numClasses(); c++) {
+        double[] actual = stats.keyValues(att, c);
+        Checks.require(same(expected[c], actual), what + ", attribute " + att
+                       + ", class " + c + ": expected " + Arrays.toString(expected[c])
+                       + " got " + Arrays.toString(actual));
+      }
+    }
+  }
+
+  /**
+   * Computes the key values of each class on an attribute as rule growing
+   * used to.
+   *
+   * @param data the data
+   * @param att the attribute
+   * @return the key values, indexed by class, null for a class without rows
+   */
+  private static double[][] reference(Instances data, int att) {
+
+    int numClasses = data.numClasses();
+    int[] counts = new int[numClasses];
+    for (int i = 0; i < data.numInstances(); i++)
+      counts[(int)data.instance(i).classValue()]++;
+    int numClass = 0;
+    for (int c = 0; c < numClasses; c++) {
+      if (counts[c] != 0)
+        numClass++;
+    }
+    int[] indexClassNotZero = new int[numClass];
+    double[] meanValues = new double[numClass];
+    int w = 0;
+    for (int c = 0; c < numClasses; c++) {
+      if (counts[c] != 0) {
+        indexClassNotZero[w] = c;
+        double[] attClassValues = new double[counts[c]];
+        int j = 0;
+        for (int i = 0; i < data.numInstances(); i++) {
+          Instance instance = data.instance(i);
+          if ((int)instance.classValue() == c)
+            attClassValues[j++] = instance.value(att);
+        }
+        meanValues[w++] = Utils.mean(attClassValues);
+      }
+    }
+
+    double[][] keyValues = new double[numClasses][];
+    if (numClass == 1) {
+      keyValues[indexClassNotZero[0]] =
+        new double[]{Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                     Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+      return keyValues;
+    }
+    int[] sortIndex = Utils.sort(meanValues);
+    for (int i = 0; i < numClass; i++) {
+      double[] values;
+      if (i == 0)
+        values = new double[]{Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                              meanValues[sortIndex[i]], meanValues[sortIndex[i + 1]]};
+      else if (i == numClass - 1)
+        values = new double[]{meanValues[sortIndex[i - 1]], meanValues[sortIndex[i]],
+                              Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+      else
+        values = new double[]{meanValues[sortIndex[i - 1]], meanValues[sortIndex[i]],
+                              meanValues[sortIndex[i]], meanValues[sortIndex[i + 1]]};
+      keyValues[indexClassNotZero[sortIndex[i]]] = values;
+    }
+    return keyValues;
+  }
+
+  /**
+   * Compares two arrays bit by bit.
+   *
+   * @param a the first array, or null
+   * @param b the second array, or null
+   * @return whether both are null or hold the same bits
+   */
+  private static boolean same(double[] a, double[] b) {
+
+    if (a == null || b == null)
+      return a == b;
+    if (a.length != b.length)
+      return false;
+    for (int i = 0; i < a.length; i++) {
+      if (Double.doubleToLongBits(a[i]) != Double.doubleToLongBits(b[i]))
+        return false;
+    }
+    return true;
+  }
+}
@@ -0,0 +1,262 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+
+package keel.Algorithms.Decision_Trees.FRBDT.test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+import keel.Algorithms.Decision_Trees.FRBDT.FRBDT;
+import keel.Algorithms.Decision_Trees.FRBDT.ScoringServer;
+import keel.Algorithms.Decision_Trees.FRBDT.benchmark.SyntheticData;
+import keel.Algorithms.Decision_Trees.FRBDT.core.CompiledRuleset;
+import keel.Algorithms.Decision_Trees.FRBDT.core.Instance;
+import keel.Algorithms.Decision_Trees.FRBDT.core.Instances;
+import keel.Algorithms.Decision_Trees.FRBDT.core.ModelFile;
+
+/**
+ * Checks the scoring server on the loopback address: concurrent single row
+ * requests are merged into batches, the answers are those of the compiled
+ * ruleset row by row, and the requests still waiting for their batch when
+ * the server stops are answered with 503.
+ */
+public class ScoringServerCheck implements Checks.Check {
+
+  /** The number of client threads */
+  private static final int NUM_CLIENTS = 16;
+
+  /** The number of requests of each client */
+  private static final int NUM_REQUESTS = 25;
+
+  /** The number of input attributes of the data */
+  private static final int NUM_ATTRIBUTES = 6;
+
+  /**
+   * Runs the check.
+   *
+   * @throws Exception if the check fails
+   */
+  public void run() throws Exception {
+
+    Instances data = SyntheticData.generate(5000, NUM_ATTRIBUTES, 3, 0.3, 7);
+    FRBDT classifier = new FRBDT();
+    classifier.buildClassifier(data);
+    File file = File.createTempFile("frbdt", ".model");
+    try {
+      classifier.writeModel(file.getPath());
+      ModelFile model = ModelFile.read(file.getPath());
+      checkBatches(model, data);
+      checkStop(model);
+    } finally {
+      file.delete();
+    }
+  }
+
+  /**
+   * Sends single row requests from concurrent clients and checks their
+   * answers and the number of batches.
+   *
+   * @param model the model
+   * @param data the rows to send
+   * @throws Exception if the check fails
+   */
+  private void checkBatches(final ModelFile model, final Instances data) throws Exception {
+
+    ScoringServer server = new ScoringServer(model, 0, 2000, 4096, 1);
+    server.start();
+    try {
+      final int port = server.port();
+      final String[] failure = new String[1];
+      Thread[] clients = new Thread[NUM_CLIENTS];
+      for (int t = 0; t < clients.length; t++) {
+        final int first = t * NUM_REQUESTS;
+        clients[t] = new Thread() {
+          public void run() {
+            try {
+              for (int k = 0; k < NUM_REQUESTS; k++) {
+                Instance instance = data.instance(first + k);
+                String answer = post(port, "/score", row(instance));
+                String expected = "200 " + expected(model, instance);
+                if (!answer.equals(expected))
+                  throw new IllegalStateException("expected " + expected + " got " + answer);
+              }
+            } catch (Throwable e) {
+              synchronized (failure) {
+                failure[0] = e.toString();
+              }
+            }
+          }
+        };
+        clients[t].start();
+      }
+      for (int t = 0; t < clients.length; t++)
+        clients[t].join();
+      Checks.require(failure[0] == null, failure[0]);
+
+      String stats = post(port, "/stats", null);
+      Checks.require(stats.startsWith("200 "), stats);
+      stats = stats.substring(4);
+      long requests = statistic(stats, "requests");
+      long batches = statistic(stats, "batches");
+      Checks.require(requests == NUM_CLIENTS * NUM_REQUESTS,
+                     "expected " + NUM_CLIENTS * NUM_REQUESTS + " requests: " + stats);
+      Checks.require(batches < requests, "no request was batched with another: " + stats);
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  /**
+   * Queues requests behind a batch that waits for a long time, stops the
+   * server and checks that they are answered with 503.
+   *
+   * @param model the model
+   * @throws Exception if the check fails
+   */
+  private void checkStop(ModelFile model) throws Exception {
+
+    final ScoringServer server = new ScoringServer(model, 0, 60000000L, 1000000, 1);
+    server.start();
+    final int port = server.port();
+    final String[] answers = new String[4];
+    Thread[] clients = new Thread[answers.length];
+    for (int t = 0; t < clients.length; t++) {
+      final int client = t;
+      clients[t] = new Thread() {
+        public void run() {
+          try {
+            answers[client] = post(port, "/score", "0,0,0,0,0,0\n");
+          } catch (IOException e) {
+            answers[client] = e.toString();
+          }
+        }
+      };
+      clients[t].start();
+    }
+    // the batch waits a minute for more rows, long enough to find them queued
+    Thread.sleep(500);
+    server.stop(1);
+    for (int t = 0; t < clients.length; t++) {
+      clients[t].join(10000);
+      Checks.require(answers[t] != null, "request " + t + " was not answered");
+      Checks.require(answers[t].startsWith("503 "), "request " + t + ": " + answers[t]);
+    }
+  }
+
+  /**
+   * Formats the input values of an instance as a request line.
+   *
+   * @param instance the instance
+   * @return the line
+   */
+  private static String row(Instance instance) {
+
+    StringBuffer text = new StringBuffer();
+    for (int a = 0; a < NUM_ATTRIBUTES; a++)
+      text.append(a == 0 ? "" : ",").append(instance.value(a));
+    return text.append('\n').toString();
+  }
+
+  /**
+   * Returns the answer the server should give for an instance, from the
+   * compiled ruleset alone.
+   *
+   * @param model the model
+   * @param instance the instance
+   * @return the line of the answer
+   */
+  private static String expected(ModelFile model, Instance instance) {
+
+    CompiledRuleset ruleset = model.ruleset();
+    int numClasses = ruleset.numClasses();
+    double[] values = instance.toDoubleArray();
+    values[model.header().classIndex()] = Instance.missingValue();
+    double[] dist = ruleset.distributionForInstance(values, new double[numClasses]);
+    StringBuffer text = new StringBuffer();
+    text.append(model.header().classAttribute().value(Math.max(ruleset.classify(dist, 0), 0)));
+    for (int c = 0; c < numClasses; c++)
+      text.append(c == 0 ? ' ' : ',').append(dist[c]);
+    return text.append('\n').toString();
+  }
+
+  /**
+   * Reads a value of the statistics of the server.
+   *
+   * @param stats the answer of /stats
+   * @param name the name of the value
+   * @return the value
+   */
+  private static long statistic(String stats, String name) {
+
+    String[] lines = stats.split("\n");
+    for (int l = 0; l < lines.length; l++) {
+      if (lines[l].startsWith(name + " "))
+        return Long.parseLong(lines[l].substring(name.length() + 1).trim());
+    }
+    throw new IllegalStateException("no " + name + " in " + stats);
+  }
+
+  /**
+   * Sends a request to the server on the loopback address.
+   *
+   * @param port the port of the server
+   * @param path the path of the endpoint
+   * @param body the body of a POST, or null for a GET
+   * @return the status code, a space and the body of the answer
+   * @throws IOException if the request fails
+   */
+  static String post(int port, String path, String body) throws IOException {
+
+    URL url = new URL("http", "127.0.0.1", port, path);
+    HttpURLConnection connection = (HttpURLConnection)url.openConnection();
+    if (body != null) {
+      connection.setDoOutput(true);
+      connection.setRequestMethod("POST");
+      OutputStream out = connection.getOutputStream();
+      out.write(body.getBytes("UTF-8"));
+      out.close();
+    }
+    int status = connection.getResponseCode();
+    InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+    ByteArrayOutputStream answer = new ByteArrayOutputStream();
+    byte[] buffer = new byte[4096];
+    int n;
+    while (in != null && (n = in.read(buffer)) > 0)
+      answer.write(buffer, 0, n);
+    if (in != null)
+      in.close();
+    return status + " " + answer.toString("UTF-8");
+  }
+}
@@ -0,0 +1,115 @@
+/***********************************************************************
+
+	This file is part of KEEL-software, the Data Mining tool for regression, 
+	classification, clustering, pattern mining and so on.
+
+	Copyright (C) 2004-2010
+	
+	F. Herrera (herrera@decsai.ugr.es)
+    L. Sánchez (luciano@uniovi.es)
+    J. Alcalá-Fdez (jalcala@decsai.ugr.es)
+    S. García (sglopez@ujaen.es)
+    A. Fernández (alberto.fernandez@ujaen.es)
+    J. Luengo (julianlm@decsai.ugr.es)
+
+	This program is free software: you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation, either version 3 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program.  If not, see http://www.gnu.org/licenses/
+  
+**********************************************************************/
+
+
+package keel.Algorithms.Decision_Trees.FRBDT.test;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import keel.Algorithms.Decision_Trees.FRBDT.FRBDT;
+import keel.Algorithms.Decision_Trees.FRBDT.benchmark.SyntheticData;
+import keel.Algorithms.Decision_Trees.FRBDT.core.Instance;
+import keel.Algorithms.Decision_Trees.FRBDT.core.Instances;
+
+/**
+ * Checks that a row of weight k trains like k copies of the row: 4000 rows
+ * weighted 1 to 3 give the ruleset of the same rows duplicated, up to the
+ * rounding of the different summation order, and the weighted ruleset
+ * does not change with early exit off, the sorted index or parallel
+ * growing.
+ */
+public class WeightedTrainingCheck implements Checks.Check {
+
+  /** A decimal number in the text of a ruleset */
+  private static final Pattern NUMBER = Pattern.compile("-?[0-9]+\\.[0-9]+");
+
+  /**
+   * Runs the check.
+   *
+   * @throws Exception if the check fails
+   */
+  public void run() throws Exception {
+
+    Instances data = SyntheticData.generate(4000, 10, 4, 0.4, 3);
+    Instances duplicated = new Instances(data, 0);
+    Instances weighted = new Instances(data, 0);
+    Random random = new Random(5);
+    for (int i = 0; i < data.numInstances(); i++) {
+      int copies = 1 + random.nextInt(3);
+      Instance instance = data.instance(i);
+      for (int k = 0; k < copies; k++)
+        duplicated.add((Instance)instance.copy());
+      Instance heavy = (Instance)instance.copy();
+      heavy.setWeight(copies);
+      weighted.add(heavy);
+    }
+
+    FRBDT reference = new FRBDT();
+    reference.buildClassifier(duplicated);
+    FRBDT classifier = new FRBDT();
+    classifier.buildClassifier(weighted);
+    String expected = round(reference.toString());
+    String actual = round(classifier.toString());
+    Checks.require(expected.equals(actual), "weighted and duplicated rulesets differ:\n"
+                   + expected + "\n" + actual);
+
+    String rules = classifier.toString();
+    for (int mode = 0; mode < 3; mode++) {
+      FRBDT other = new FRBDT();
+      if (mode == 0) {
+        other.setEarlyExit(false);
+      } else if (mode == 1) {
+        other.setSortedIndex(true);
+      } else {
+        other.setNumThreads(4);
+        other.setParallelAttributes(true);
+      }
+      other.buildClassifier(weighted);
+      Checks.require(rules.equals(other.toString()), "mode " + mode + " changes the ruleset");
+    }
+  }
+
+  /**
+   * Rounds the decimal numbers of a text to six significant digits.
+   *
+   * @param text the text
+   * @return the rounded text
+   */
+  private static String round(String text) {
+
+    Matcher matcher = NUMBER.matcher(text);
+    StringBuffer rounded = new StringBuffer();
+    while (matcher.find())
+      matcher.appendReplacement(rounded, String.format("%.6g", Double.parseDouble(matcher.group())));
+    matcher.appendTail(rounded);
+    return rounded.toString();
+  }
+}